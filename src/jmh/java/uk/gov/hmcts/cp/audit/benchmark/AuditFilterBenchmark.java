@@ -0,0 +1,137 @@
+package uk.gov.hmcts.cp.audit.benchmark;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.config.JacksonConfig;
+import uk.gov.hmcts.cp.audit.filter.AuditFilter;
+import uk.gov.hmcts.cp.audit.mapper.AuditPayloadMapperImpl;
+import uk.gov.hmcts.cp.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.audit.parser.RestApiParser;
+import uk.gov.hmcts.cp.audit.parser.RouteMatch;
+import uk.gov.hmcts.cp.audit.parser.RouteResolver;
+import uk.gov.hmcts.cp.audit.policy.AuditPolicy;
+import uk.gov.hmcts.cp.audit.service.AuditPayloadGenerationService;
+import uk.gov.hmcts.cp.audit.service.AuditPublisher;
+import uk.gov.hmcts.cp.audit.service.AuditService;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+import uk.gov.hmcts.cp.audit.util.CaptureContentTypes;
+import uk.gov.hmcts.cp.audit.util.PathTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The whole of {@link AuditFilter} for a JSON exchange against mock servlet objects, from capturing both bodies to
+ * serializing the audit messages, which a client that drops them then receives. Each invocation includes building the
+ * mock request and response, which the {@code passThrough} benchmark measures on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuditFilterBenchmark {
+
+    private static final String TEMPLATE = "/cases/{caseId}";
+    private static final PathTemplate ROUTE = PathTemplate.compile(TEMPLATE);
+
+    @Param({"256", "8192", "65536"})
+    public int size;
+
+    @Param({"SEPARATE", "EXCHANGE"})
+    public AuditProperties.PayloadMode mode;
+
+    @Param({"false", "true"})
+    public boolean rawPassthrough;
+
+    private NoopAuditClient client;
+    private AuditFilter filter;
+    private byte[] requestBody;
+    private byte[] responseBody;
+    private FilterChain application;
+
+    @Setup
+    public void setUp() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getPayload().setMode(mode);
+        properties.getPayload().setRawPassthrough(rawPassthrough);
+        // Captures the largest bodies whole, so every size is audited as JSON rather than as a truncated string
+        properties.getPolicy().setDefaultCaptureLimit(1024 * 1024);
+        client = new NoopAuditClient();
+        final AuditService auditService = new AuditService(new JacksonConfig().objectMapper(), client, properties);
+        filter = new AuditFilter(
+                new AuditPayloadMapperImpl(),
+                new AuditPublisher(auditService, properties),
+                new AuditPayloadGenerationService(new JacksonConfig().objectMapper()),
+                properties,
+                new CaptureBufferPool(properties),
+                new RouteResolver(new SingleRouteParser(), properties),
+                new AuditPolicy(properties),
+                new CaptureContentTypes(properties),
+                AuditMetrics.NOOP);
+
+        requestBody = BenchmarkBodies.of(BenchmarkBodies.Shape.OBJECT, size).getBytes(StandardCharsets.UTF_8);
+        responseBody = BenchmarkBodies.of(BenchmarkBodies.Shape.OBJECT, size).getBytes(StandardCharsets.UTF_8);
+        application = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write(responseBody);
+        };
+    }
+
+    @Benchmark
+    public long audited() throws ServletException, IOException {
+        filter.doFilter(request(), new MockHttpServletResponse(), application);
+        return client.getSentBytes();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse passThrough() throws ServletException, IOException {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        application.doFilter(request(), response);
+        return response;
+    }
+
+    private MockHttpServletRequest request() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/cases/123");
+        request.setContextPath("/api");
+        request.setContentType("application/json");
+        request.setCharacterEncoding("UTF-8");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("CJSCPPUID", "user-1");
+        request.addHeader("CPPCLIENTCORRELATIONID", "correlation-1");
+        request.setParameter("page", "1");
+        request.setContent(requestBody);
+        return request;
+    }
+
+    /**
+     * Stands in for the OpenAPI route index with the one route the benchmark requests.
+     */
+    private static final class SingleRouteParser implements RestApiParser {
+
+        @Override
+        public Map<String, Pattern> getPathPatterns() {
+            return Map.of(TEMPLATE, ROUTE.getPattern());
+        }
+
+        @Override
+        public Optional<RouteMatch> matchRoute(final String method, final String path) {
+            final Map<String, String> pathParams = ROUTE.extract(path);
+            return pathParams.isEmpty() ? Optional.empty() : Optional.of(new RouteMatch(TEMPLATE, "updateCase", pathParams, TEMPLATE));
+        }
+    }
+}
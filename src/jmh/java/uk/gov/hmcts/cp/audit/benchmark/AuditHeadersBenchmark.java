@@ -0,0 +1,65 @@
+package uk.gov.hmcts.cp.audit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import uk.gov.hmcts.cp.audit.util.AuditHeaders;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the well-known audit headers from a request, and from a plain header map, through {@link AuditHeaders}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditHeadersBenchmark {
+
+    private MockHttpServletRequest request;
+    private Map<String, String> headers;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("POST", "/api/cases");
+        headers = new LinkedHashMap<>();
+        headers.put("Host", "localhost:8080");
+        headers.put("User-Agent", "benchmark");
+        headers.put("Accept", "application/json");
+        headers.put("Content-Type", "application/json");
+        headers.put("Authorization", "Bearer token");
+        headers.put("CJSCPPUID", "user-1");
+        headers.put("CPPCLIENTCORRELATIONID", "correlation-1");
+        headers.put("X-Forwarded-For", "10.0.0.1");
+        headers.forEach(request::addHeader);
+    }
+
+    @Benchmark
+    public void fromRequest(final Blackhole blackhole) {
+        consume(AuditHeaders.of(request), blackhole);
+    }
+
+    @Benchmark
+    public void fromMap(final Blackhole blackhole) {
+        consume(AuditHeaders.from(headers), blackhole);
+    }
+
+    @Benchmark
+    public Map<String, String> copyAll() {
+        return new LinkedHashMap<>(AuditHeaders.of(request));
+    }
+
+    private static void consume(final AuditHeaders auditHeaders, final Blackhole blackhole) {
+        blackhole.consume(auditHeaders.getAccept());
+        blackhole.consume(auditHeaders.getContentType());
+        blackhole.consume(auditHeaders.getUserId());
+        blackhole.consume(auditHeaders.getClientCorrelationId());
+    }
+}
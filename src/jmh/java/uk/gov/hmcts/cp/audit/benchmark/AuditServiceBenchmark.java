@@ -0,0 +1,71 @@
+package uk.gov.hmcts.cp.audit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.config.JacksonConfig;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.audit.service.AuditPayloadGenerationService;
+import uk.gov.hmcts.cp.audit.service.AuditService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of an audit event by {@link AuditService} in each message format, sending to a client that drops it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuditServiceBenchmark {
+
+    public enum Format {
+        TEXT,
+        BYTES,
+        GZIP
+    }
+
+    @Param({"TEXT", "BYTES", "GZIP"})
+    public Format format;
+
+    @Param({"256", "8192", "65536"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean rawPassthrough;
+
+    private NoopAuditClient client;
+    private AuditService auditService;
+    private AuditEvent event;
+
+    @Setup
+    public void setUp() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().setMessageFormat(format == Format.TEXT ? AuditProperties.MessageFormat.TEXT : AuditProperties.MessageFormat.BYTES);
+        properties.getJms().getCompression().setEnabled(format == Format.GZIP);
+        final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        client = new NoopAuditClient();
+        auditService = new AuditService(objectMapper, client, properties);
+
+        final AuditPayloadGenerationService generationService = new AuditPayloadGenerationService(objectMapper);
+        final String body = BenchmarkBodies.of(BenchmarkBodies.Shape.OBJECT, size);
+        final Map<String, String> headers = Map.of("Accept", "application/json", "CJSCPPUID", "user-1");
+        event = rawPassthrough
+                ? generationService.generatePayload("api", body.getBytes(StandardCharsets.UTF_8), "UTF-8", headers, Map.of(), Map.of())
+                : generationService.generatePayload("api", body, headers);
+    }
+
+    @Benchmark
+    public long serialize() {
+        auditService.postMessageToArtemis(event);
+        return client.getSentBytes();
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.hmcts.cp.audit.benchmark;
+
+/**
+ * Bodies of a given shape and approximate size for the benchmarks.
+ */
+final class BenchmarkBodies {
+
+    enum Shape {
+        OBJECT,
+        ARRAY,
+        INVALID
+    }
+
+    private BenchmarkBodies() {
+    }
+
+    static String of(final Shape shape, final int size) {
+        final StringBuilder body = new StringBuilder(size + 64);
+        switch (shape) {
+            case OBJECT -> {
+                body.append('{');
+                for (int i = 0; body.length() < size; i++) {
+                    body.append(i == 0 ? "" : ",").append("\"field").append(i).append("\":\"value of field ").append(i).append('"');
+                }
+                body.append('}');
+            }
+            case ARRAY -> {
+                body.append('[');
+                for (int i = 0; body.length() < size; i++) {
+                    body.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item ").append(i).append("\"}");
+                }
+                body.append(']');
+            }
+            default -> {
+                for (int i = 0; body.length() < size; i++) {
+                    body.append("not json, line ").append(i).append('\n');
+                }
+            }
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.hmcts.cp.audit.benchmark;
+
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
+import uk.gov.hmcts.cp.audit.service.AuditCircuitBreaker;
+import uk.gov.hmcts.cp.audit.service.AuditClient;
+
+import java.util.List;
+
+/**
+ * An {@link AuditClient} that doesn't send anything, so benchmarks measure the audit work up to the broker. It keeps a
+ * count of the bytes it was given so the messages can't be optimised away.
+ */
+class NoopAuditClient extends AuditClient {
+
+    private long sentBytes;
+
+    NoopAuditClient() {
+        super(null, new AuditCircuitBreaker(new AuditProperties(), event -> { }));
+    }
+
+    @Override
+    public void postMessageToArtemis(final String messageName, final String message) {
+        sentBytes += message.length();
+    }
+
+    @Override
+    public void postMessageToArtemis(final String messageName, final byte[] body, final int length, final String contentEncoding) {
+        sentBytes += length;
+    }
+
+    @Override
+    public void postMessagesToArtemis(final List<AuditMessage> messages) {
+        for (final AuditMessage message : messages) {
+            sentBytes += message.isBytes() ? message.bytes().length : message.text().length();
+        }
+    }
+
+    long getSentBytes() {
+        return sentBytes;
+    }
+}
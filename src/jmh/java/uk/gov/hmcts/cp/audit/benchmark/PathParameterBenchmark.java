@@ -0,0 +1,42 @@
+package uk.gov.hmcts.cp.audit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.cp.audit.util.PathParameterNameExtractor;
+import uk.gov.hmcts.cp.audit.util.PathParameterValueExtractor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PathParameterNameExtractor} and {@link PathParameterValueExtractor} once their templates are cached, as they
+ * are for every request after the first to a route.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathParameterBenchmark {
+
+    private static final String TEMPLATE = "/cases/{caseId}/defendants/{defendantId}/documents/{documentId}";
+    private static final String REGEX = "/cases/([^/]+)/defendants/([^/]+)/documents/([^/]+)";
+    private static final List<String> NAMES = List.of("caseId", "defendantId", "documentId");
+    private static final String PATH = "/cases/0b8e2c4a-6f3d-4f1e-9a57-3c2d1e0f9b8a/defendants/42/documents/doc-7";
+
+    private final PathParameterNameExtractor nameExtractor = new PathParameterNameExtractor();
+    private final PathParameterValueExtractor valueExtractor = new PathParameterValueExtractor();
+
+    @Benchmark
+    public List<String> extractNames() {
+        return nameExtractor.extractPathParametersFromApiSpec(TEMPLATE);
+    }
+
+    @Benchmark
+    public Map<String, String> extractValues() {
+        return valueExtractor.extractPathParameters(PATH, REGEX, NAMES);
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.hmcts.cp.audit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.cp.audit.config.JacksonConfig;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.audit.service.AuditPayloadGenerationService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AuditPayloadGenerationService#generatePayload} for bodies of each shape and size, parsing the body into a tree
+ * and with raw passthrough.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadGenerationBenchmark {
+
+    private static final Map<String, String> HEADERS = Map.of(
+            "Accept", "application/json", "CJSCPPUID", "user-1", "CPPCLIENTCORRELATIONID", "correlation-1");
+
+    @Param({"OBJECT", "ARRAY", "INVALID"})
+    public BenchmarkBodies.Shape shape;
+
+    @Param({"256", "8192", "65536"})
+    public int size;
+
+    private AuditPayloadGenerationService service;
+    private String body;
+    private byte[] bodyBytes;
+
+    @Setup
+    public void setUp() {
+        service = new AuditPayloadGenerationService(new JacksonConfig().objectMapper());
+        body = BenchmarkBodies.of(shape, size);
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public AuditPayload tree() {
+        return service.generatePayload("api", body, HEADERS, Map.of("page", "1"), Map.of("caseId", "123"));
+    }
+
+    @Benchmark
+    public AuditEvent rawPassthrough() {
+        return service.generatePayload("api", bodyBytes, "UTF-8", HEADERS, Map.of("page", "1"), Map.of("caseId", "123"));
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.cp.audit.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.cp.audit.util.AuditPayloadCodec;
+import uk.gov.hmcts.cp.audit.util.DeflaterPayloadCodec;
+
+/**
+ * Provides the codec for compressed audit messages chosen by {@code audit.jms.compression.codec}.
+ */
+@Configuration
+public class AuditCompressionConfig {
+
+    @Bean
+    public AuditPayloadCodec auditPayloadCodec(final AuditProperties properties) {
+        final AuditProperties.Compression compression = properties.getJms().getCompression();
+        return switch (compression.getCodec()) {
+            case GZIP -> DeflaterPayloadCodec.gzip(compression.getLevel());
+            case DEFLATE -> DeflaterPayloadCodec.deflate(compression.getLevel());
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.hmcts.cp.audit.config;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.springframework.jms.connection.SingleConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the JMS resources used for audit traffic.
+ * When {@code audit.jms.pool.enabled} is set (the default) audit messages go through a dedicated pool of connections,
+ * sessions and destination-bound producers, so the cost of a send no longer depends on how the host application
+ * configured its own connection factory. The pool deliberately isn't exposed as a {@link ConnectionFactory} bean,
+ * which would make Spring Boot back off from creating the host's one.
+ */
+@Component
+@Slf4j
+public class AuditJmsPool {
+
+    private final JmsTemplate jmsTemplate;
+    private final JmsPoolConnectionFactory pooledConnectionFactory;
+
+    public AuditJmsPool(final JmsTemplate jmsTemplate, final AuditProperties properties) {
+        final AuditProperties.Pool settings = properties.getJms().getPool();
+        if (properties.getJms().isEnabled() && settings.isEnabled() && jmsTemplate.getConnectionFactory() != null) {
+            this.pooledConnectionFactory = createPool(unwrap(jmsTemplate.getConnectionFactory()), settings);
+            this.jmsTemplate = copyOf(jmsTemplate, pooledConnectionFactory);
+            log.info("Using dedicated audit JMS pool with {} connections and {} sessions per connection",
+                    settings.getMaxConnections(), settings.getMaxSessionsPerConnection());
+        } else {
+            this.pooledConnectionFactory = null;
+            this.jmsTemplate = jmsTemplate;
+        }
+    }
+
+    public JmsTemplate getJmsTemplate() {
+        return jmsTemplate;
+    }
+
+    public boolean isPooled() {
+        return pooledConnectionFactory != null;
+    }
+
+    public int getConnectionCount() {
+        return isPooled() ? pooledConnectionFactory.getNumConnections() : 0;
+    }
+
+    public int getMaxConnections() {
+        return isPooled() ? pooledConnectionFactory.getMaxConnections() : 0;
+    }
+
+    public int getMaxSessionsPerConnection() {
+        return isPooled() ? pooledConnectionFactory.getMaxSessionsPerConnection() : 0;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (isPooled()) {
+            pooledConnectionFactory.stop();
+        }
+    }
+
+    private static JmsPoolConnectionFactory createPool(final ConnectionFactory target, final AuditProperties.Pool settings) {
+        final JmsPoolConnectionFactory pool = new JmsPoolConnectionFactory();
+        pool.setConnectionFactory(target);
+        pool.setMaxConnections(settings.getMaxConnections());
+        pool.setMaxSessionsPerConnection(settings.getMaxSessionsPerConnection());
+        pool.setConnectionIdleTimeout((int) settings.getIdleTimeout().toMillis());
+        pool.setConnectionCheckInterval(settings.getEvictionInterval().toMillis());
+        pool.setBlockIfSessionPoolIsFull(true);
+        pool.setBlockIfSessionPoolIsFullTimeout(settings.getBlockIfFullTimeout().toMillis());
+        // Producers stay bound to the audit destination instead of being anonymous and re-targeted per send
+        pool.setUseAnonymousProducers(false);
+        pool.setExplicitProducerCacheSize(settings.getProducerCacheSize());
+        pool.start();
+        return pool;
+    }
+
+    /**
+     * Pooling on top of Spring's caching or single connection factory would share one physical connection,
+     * so the pool is layered over the underlying vendor factory instead.
+     */
+    private static ConnectionFactory unwrap(final ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof SingleConnectionFactory single && single.getTargetConnectionFactory() != null) {
+            return single.getTargetConnectionFactory();
+        }
+        if (connectionFactory instanceof JmsPoolConnectionFactory pool && pool.getConnectionFactory() instanceof ConnectionFactory target) {
+            return target;
+        }
+        return connectionFactory;
+    }
+
+    /**
+     * A template over the pool with every setting of the host's template, so its {@code spring.jms.template.*}
+     * properties apply to audit traffic too.
+     */
+    private static JmsTemplate copyOf(final JmsTemplate template, final ConnectionFactory connectionFactory) {
+        final JmsTemplate copy = new JmsTemplate(connectionFactory);
+        copy.setPubSubDomain(template.isPubSubDomain());
+        copy.setDestinationResolver(template.getDestinationResolver());
+        if (template.getDefaultDestination() != null) {
+            copy.setDefaultDestination(template.getDefaultDestination());
+        } else if (template.getDefaultDestinationName() != null) {
+            copy.setDefaultDestinationName(template.getDefaultDestinationName());
+        }
+        copy.setMessageConverter(template.getMessageConverter());
+        copy.setExplicitQosEnabled(template.isExplicitQosEnabled());
+        copy.setDeliveryMode(template.getDeliveryMode());
+        copy.setPriority(template.getPriority());
+        copy.setTimeToLive(template.getTimeToLive());
+        copy.setDeliveryDelay(template.getDeliveryDelay());
+        copy.setReceiveTimeout(template.getReceiveTimeout());
+        copy.setSessionTransacted(template.isSessionTransacted());
+        copy.setSessionAcknowledgeMode(template.getSessionAcknowledgeMode());
+        return copy;
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.cp.audit.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.cp.audit.util.AuditIdGenerator;
+import uk.gov.hmcts.cp.audit.util.RandomIdGenerator;
+import uk.gov.hmcts.cp.audit.util.TimeOrderedIdGenerator;
+
+/**
+ * Provides the generator for audit metadata ids chosen by {@code audit.metadata.id-generator}.
+ */
+@Configuration
+public class AuditMetadataConfig {
+
+    @Bean
+    public AuditIdGenerator auditIdGenerator(final AuditProperties properties) {
+        return switch (properties.getMetadata().getIdGenerator()) {
+            case TIME_ORDERED -> new TimeOrderedIdGenerator();
+            case RANDOM -> new RandomIdGenerator();
+        };
+    }
+}
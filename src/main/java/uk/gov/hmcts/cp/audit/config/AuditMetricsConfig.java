@@ -0,0 +1,55 @@
+package uk.gov.hmcts.cp.audit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.cp.audit.journal.AuditSpillJournal;
+import uk.gov.hmcts.cp.audit.metrics.AuditMeterBinder;
+import uk.gov.hmcts.cp.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.audit.metrics.MicrometerAuditMetrics;
+import uk.gov.hmcts.cp.audit.parser.RouteResolver;
+import uk.gov.hmcts.cp.audit.service.AuditCircuitBreaker;
+import uk.gov.hmcts.cp.audit.service.AuditPublisher;
+import uk.gov.hmcts.cp.audit.service.AuditService;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+
+/**
+ * Provides {@link AuditMetrics} backed by the application's {@link MeterRegistry}, or a no-op when Micrometer isn't on
+ * the class path or there is no registry. Micrometer is an optional dependency, so it is only referenced from the
+ * nested configuration, which isn't loaded without it.
+ */
+@Configuration
+public class AuditMetricsConfig {
+
+    private static final String METER_REGISTRY = "io.micrometer.core.instrument.MeterRegistry";
+
+    @Bean
+    @ConditionalOnMissingClass(METER_REGISTRY)
+    public AuditMetrics noopAuditMetrics() {
+        return AuditMetrics.NOOP;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = METER_REGISTRY)
+    static class MicrometerMetricsConfig {
+
+        @Bean
+        public AuditMetrics micrometerAuditMetrics(final ObjectProvider<MeterRegistry> meterRegistry) {
+            final MeterRegistry registry = meterRegistry.getIfUnique();
+            return registry == null ? AuditMetrics.NOOP : new MicrometerAuditMetrics(registry);
+        }
+
+        /**
+         * Bound to the registry by Spring Boot Actuator, like any other {@code MeterBinder} bean.
+         */
+        @Bean
+        public AuditMeterBinder auditMeterBinder(final AuditPublisher publisher, final AuditService auditService,
+                                                 final AuditSpillJournal spillJournal, final AuditCircuitBreaker circuitBreaker,
+                                                 final CaptureBufferPool captureBufferPool, final RouteResolver routeResolver) {
+            return new AuditMeterBinder(publisher, auditService, spillJournal, circuitBreaker, captureBufferPool, routeResolver);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package uk.gov.hmcts.cp.audit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.cp.audit.parser.RouteTable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tuning properties for the audit library, bound from the {@code audit.*} namespace.
+ * Every feature defaults to the behaviour the library had before it was configurable.
+ */
+@Component
+@ConfigurationProperties(prefix = "audit")
+@Getter
+@Setter
+public class AuditProperties {
+
+    private Async async = new Async();
+    private Jms jms = new Jms();
+    private Payload payload = new Payload();
+    private Capture capture = new Capture();
+    private OpenApi openapi = new OpenApi();
+    private Resources resources = new Resources();
+    private Metadata metadata = new Metadata();
+    private Policy policy = new Policy();
+    private Journal journal = new Journal();
+
+    /**
+     * Publishing of audit events from a bounded in-memory queue drained by background workers,
+     * so that request threads never wait on the broker.
+     */
+    @Getter
+    @Setter
+    public static class Async {
+        private boolean enabled;
+        private int queueCapacity = 10_000;
+        private int workers = 2;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private Duration offerTimeout = Duration.ofMillis(50);
+        private Duration shutdownTimeout = Duration.ofSeconds(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Payload {
+        /**
+         * Embed valid JSON bodies verbatim instead of parsing them into a tree and serializing them again.
+         */
+        private boolean rawPassthrough;
+        private PayloadMode mode = PayloadMode.SEPARATE;
+        /** Headers left out of {@code EXCHANGE} events, matched case-insensitively. */
+        private List<String> excludedHeaders = new ArrayList<>(List.of(
+                "Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie"));
+        /**
+         * Also build the interim {@code AuditPayloadMapper} payloads, which aren't published. Off by default, as it
+         * copies the response body and reads any request body the application left unread into memory.
+         */
+        private boolean interimMapper;
+    }
+
+    /**
+     * Per-route audit levels. Rules are tried in order and the first whose methods and path pattern match the request
+     * applies; requests matching no rule get the defaults.
+     */
+    @Getter
+    @Setter
+    public static class Policy {
+        private AuditLevel defaultLevel = AuditLevel.FULL;
+        private AuditLevel defaultResponseLevel;
+        private int defaultCaptureLimit = 65_536;
+        /** Path patterns never audited, whatever the rules say, in the same syntax as {@link Rule#getPath()}. */
+        private List<String> excludes = new ArrayList<>(List.of("/actuator/**", "/health/**"));
+        private List<Rule> rules = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Rule {
+        /** HTTP methods the rule applies to, any method when empty. */
+        private List<String> methods = new ArrayList<>();
+        /** Path pattern relative to the context path, in Spring {@code PathPattern} syntax, e.g. {@code /cases/{caseId}/**}. */
+        private String path;
+        private AuditLevel level = AuditLevel.FULL;
+        /** Level for the response message, the same as {@code level} when not set. */
+        private AuditLevel responseLevel;
+        /** Bytes of each body captured, the default capture limit when not set. */
+        private Integer captureLimit;
+    }
+
+    /**
+     * Local spill journal for audit messages the broker fails to take, or takes longer than {@code latencyBudget} to,
+     * replayed to the broker at {@code replayRate} messages a second once it has recovered.
+     */
+    @Getter
+    @Setter
+    public static class Journal {
+        private boolean enabled;
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "audit-journal");
+        private int segmentSize = 16 * 1024 * 1024;
+        private int maxSegments = 64;
+        /**
+         * Sync journalled records to disk rather than leaving them to the page cache. Records are synced together every
+         * 100 ms by the journal's own thread, so spilling a message never waits on the disk.
+         */
+        private boolean fsync = true;
+        private Duration latencyBudget = Duration.ofSeconds(1);
+        /** How long messages go straight to the journal after the broker failed or was too slow. */
+        private Duration backoff = Duration.ofSeconds(5);
+        /** Messages replayed per second, 0 leaves replay to {@code AuditSpillJournal.replay}. */
+        private int replayRate = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Metadata {
+        private IdGenerator idGenerator = IdGenerator.RANDOM;
+    }
+
+    @Getter
+    @Setter
+    public static class Capture {
+        private Buffers buffers = new Buffers();
+        /** Capture only bodies of the textual content types, describing any other body instead of buffering it. */
+        private boolean contentAware;
+        /** Media ranges captured when {@code contentAware} is set; bodies without a content type are always captured. */
+        private List<String> textualTypes = new ArrayList<>(List.of(
+                "text/*", "application/json", "application/*+json", "application/xml", "application/*+xml",
+                "application/x-www-form-urlencoded"));
+        /** {@code MessageDigest} algorithm for bodies audited at the {@code DIGEST} level. */
+        private String digestAlgorithm = "SHA-256";
+    }
+
+    /**
+     * Pool of reusable request and response capture buffers, see {@code CaptureBufferPool}.
+     */
+    @Getter
+    @Setter
+    public static class Buffers {
+        private boolean direct;
+        /** Largest pooled buffer, raised to the largest capture limit of {@code audit.policy} when that is bigger. */
+        private int maxBufferSize = 65_536;
+        private int maxPooledPerClass = 64;
+    }
+
+    /**
+     * The OpenAPI spec whose paths are used to resolve the route and path parameters of an audited request.
+     */
+    @Getter
+    @Setter
+    public static class OpenApi {
+        private String specPattern = ".openapi.yml";
+        /**
+         * Classpath location of the route table generated at build time, used in preference to parsing the spec.
+         */
+        private String routeTable = RouteTable.LOCATION;
+        /**
+         * Resolved request paths kept by {@code RouteResolver}, zero disables the cache.
+         */
+        private int routeCacheSize = 1024;
+        private Reload reload = new Reload();
+    }
+
+    /**
+     * Background checks for a changed route table or spec, rebuilding the route index without a restart. Only the route
+     * table is checked when there is one. Otherwise the specs found in {@code audit.resources.locations} are checked, so
+     * specs outside the class path need a {@code file:} location there.
+     */
+    @Getter
+    @Setter
+    public static class Reload {
+        private boolean enabled;
+        private Duration interval = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Where {@code ClasspathResourceLoader} looks for resources. Narrowing this to the locations that hold the spec,
+     * e.g. {@code classpath*:openapi/}, avoids scanning every jar on the class path.
+     */
+    @Getter
+    @Setter
+    public static class Resources {
+        private List<String> locations = new ArrayList<>(List.of("classpath*:"));
+    }
+
+    @Getter
+    @Setter
+    public static class Jms {
+        /** Send audit messages to the broker. When off they are discarded and no audit JMS resources are created. */
+        private boolean enabled = true;
+        private MessageFormat messageFormat = MessageFormat.TEXT;
+        private Batch batch = new Batch();
+        private Pool pool = new Pool();
+        private Compression compression = new Compression();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+
+    /**
+     * Circuit breaker around sends to the broker. It opens when, over the last {@code slidingWindowSize} calls, the
+     * failure rate or the rate of calls slower than {@code slowCallDuration} reaches its threshold. While open, messages
+     * are handed to the {@code fallback} without waiting on the broker. After {@code openDuration}, up to
+     * {@code halfOpenCalls} probes are let through, closing the breaker if they all succeed in time.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private boolean enabled;
+        private int failureRateThreshold = 50;
+        private int slowCallRateThreshold = 100;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+        private Fallback fallback = Fallback.SINK;
+    }
+
+    /**
+     * Compression of serialized audit events of at least {@code threshold} bytes, which are then sent as a
+     * {@code BytesMessage} with a {@code CPPCONTENTENCODING} property naming the codec.
+     */
+    @Getter
+    @Setter
+    public static class Compression {
+        private boolean enabled;
+        private Codec codec = Codec.GZIP;
+        private int threshold = 8 * 1024;
+        /** {@code Deflater} compression level, 0-9 or -1 for the default. */
+        private int level = -1;
+    }
+
+    /**
+     * Sending of queued audit events in groups on one transacted session with a single commit.
+     * Only applies to asynchronous publishing, a request thread never waits for a batch to fill.
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+        private boolean enabled;
+        private int maxSize = 50;
+        private Duration maxWait = Duration.ofMillis(20);
+    }
+
+    /**
+     * Connection, session and producer pool dedicated to audit traffic, layered over the host's Artemis connection factory.
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+        private boolean enabled = true;
+        private int maxConnections = 1;
+        private int maxSessionsPerConnection = 50;
+        private int producerCacheSize = 1;
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        private Duration blockIfFullTimeout = Duration.ofSeconds(5);
+    }
+
+    public enum MessageFormat {
+        /** Serialize to a String and send a TextMessage. */
+        TEXT,
+        /** Stream the JSON into a reusable per-thread buffer and send a BytesMessage, without an intermediate String. */
+        BYTES
+    }
+
+    public enum PayloadMode {
+        /** A request message and a response message for each exchange. */
+        SEPARATE,
+        /** One message for each exchange, holding the request, the response, their headers and the duration. */
+        EXCHANGE
+    }
+
+    public enum Fallback {
+        /** Drop the message, counting it. */
+        DROP,
+        /** Log a compact record of the message. */
+        LOG,
+        /** Keep the message in the spill journal, logging it when the journal is disabled or full. */
+        SINK
+    }
+
+    public enum Codec {
+        /** GZIP format, content encoding {@code gzip}. */
+        GZIP,
+        /** zlib format, content encoding {@code deflate}. */
+        DEFLATE
+    }
+
+    public enum AuditLevel {
+        /** Don't audit. */
+        SKIP,
+        /** Publish the audit metadata only, without parameters or body. */
+        METADATA,
+        /** Publish the metadata with the query and path parameters, without the body. */
+        HEADERS,
+        /** Publish the metadata, parameters and a digest of the body, hashed as it streams past rather than kept. */
+        DIGEST,
+        /** Publish the metadata, parameters and captured body. */
+        FULL
+    }
+
+    public enum IdGenerator {
+        /** Random version 4 UUIDs from the shared SecureRandom. */
+        RANDOM,
+        /** Time-ordered version 7 UUIDs from thread-local randomness, see {@code TimeOrderedIdGenerator}. */
+        TIME_ORDERED
+    }
+
+    public enum OverflowPolicy {
+        /** Wait up to the offer timeout for space, then drop the event. */
+        BLOCK,
+        /** Drop the event being published when the queue is full. */
+        DROP_NEWEST,
+        /** Evict the oldest queued event to make room for the one being published. */
+        DROP_OLDEST
+    }
+}
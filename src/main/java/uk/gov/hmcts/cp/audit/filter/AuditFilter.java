@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
@@ -11,17 +12,33 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.config.AuditProperties.AuditLevel;
 import uk.gov.hmcts.cp.audit.mapper.AuditPayloadMapper;
-import uk.gov.hmcts.cp.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.audit.model.AuditExchange;
+import uk.gov.hmcts.cp.audit.model.BodyDescriptor;
+import uk.gov.hmcts.cp.audit.parser.RouteMatch;
+import uk.gov.hmcts.cp.audit.policy.AuditDecision;
+import uk.gov.hmcts.cp.audit.policy.AuditPolicy;
+import uk.gov.hmcts.cp.audit.parser.RouteResolver;
 import uk.gov.hmcts.cp.audit.service.AuditPayloadGenerationService;
-import uk.gov.hmcts.cp.audit.service.AuditService;
+import uk.gov.hmcts.cp.audit.service.AuditPublisher;
+import uk.gov.hmcts.cp.audit.util.AuditHeaders;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+import uk.gov.hmcts.cp.audit.util.CaptureContentTypes;
+import uk.gov.hmcts.cp.audit.util.JsonTokenScanner;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Component
@@ -30,35 +47,73 @@ import java.util.Map;
 @Slf4j
 public class AuditFilter extends OncePerRequestFilter {
 
-    private static final int CACHE_LIMIT = 65_536; // 64 KB
-
     private final AuditPayloadMapper mapper;
-    private final AuditService auditService;
+    private final AuditPublisher auditPublisher;
     private final AuditPayloadGenerationService auditPayloadGenerationService;
-
-    @Override
-    protected boolean shouldNotFilter(final HttpServletRequest request) {
-        final String path = request.getRequestURI();
-        return path.contains("/health") || path.contains("/actuator");
-    }
+    private final AuditProperties auditProperties;
+    private final CaptureBufferPool captureBufferPool;
+    private final RouteResolver routeResolver;
+    private final AuditPolicy auditPolicy;
+    private final CaptureContentTypes captureContentTypes;
+    private final AuditMetrics auditMetrics;
 
     @Override
     protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
             throws ServletException, IOException {
 
-        final ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, CACHE_LIMIT);
-        final ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        final long start = auditMetrics.isEnabled() ? System.nanoTime() : 0;
+        final AuditDecision decision = auditPolicy.decide(request.getMethod(), getPath(request));
+        if (decision.isSkipped()) {
+            filterChain.doFilter(request, response);
+            if (auditMetrics.isEnabled()) {
+                auditMetrics.recordSkipped(getRoute(request), response.getStatus());
+            }
+            return;
+        }
 
-        filterChain.doFilter(wrappedRequest, wrappedResponse);
+        // Bodies the policy doesn't audit aren't captured at all
+        final int requestLimit = decision.capturesRequestBody() ? decision.captureLimit() : 0;
+        final int responseLimit = decision.capturesResponseBody() ? decision.captureLimit() : 0;
+        final BodyCapture requestCapture = new BodyCapture(captureBufferPool, requestLimit);
+        if (decision.digestsRequestBody()) {
+            requestCapture.digestOnly(auditProperties.getCapture().getDigestAlgorithm());
+        } else if (!captureContentTypes.isCaptured(request.getContentType())) {
+            requestCapture.describeOnly(request.getContentType());
+        }
+        final BodyCapture responseCapture = new BodyCapture(captureBufferPool, responseLimit);
+        if (decision.digestsResponseBody()) {
+            responseCapture.digestOnly(auditProperties.getCapture().getDigestAlgorithm());
+        }
+        final TeeRequestWrapper wrappedRequest = new TeeRequestWrapper(request, requestCapture);
+        final TeeResponseWrapper wrappedResponse = new TeeResponseWrapper(response, responseCapture, captureContentTypes::isCaptured);
+
+        try {
+            final long chainStart = System.nanoTime();
+            filterChain.doFilter(wrappedRequest, wrappedResponse);
 
-        submitAuditPayload(wrappedRequest, wrappedResponse);
+            // The body has already streamed through to the client, committing it here means the client isn't kept
+            // waiting while the exchange is audited
+            wrappedResponse.flushBuffer();
+            final long chainNanos = System.nanoTime() - chainStart;
 
-        // Lets just demonstrate that we can get the required information ... in int tests
-        // But not switch till we are happy
-        newAuditRequestPayload(request, getRequestBody(wrappedRequest));
-        newAuditResponsePayload(request, response, getResponseBody(wrappedResponse));
+            final String route = auditMetrics.isEnabled() ? getRoute(request) : null;
+            submitAuditPayload(wrappedRequest, wrappedResponse, decision, Duration.ofNanos(chainNanos), route);
 
-        wrappedResponse.copyBodyToResponse();
+            // Lets just demonstrate that we can get the required information ... in int tests
+            // But not switch till we are happy
+            if (auditProperties.getPayload().isInterimMapper()) {
+                newAuditRequestPayload(request, getRequestBody(wrappedRequest));
+                newAuditResponsePayload(request, response, getResponseBody(wrappedResponse));
+            }
+
+            if (auditMetrics.isEnabled()) {
+                recordCaptureMetrics(wrappedRequest, wrappedResponse, decision, route, System.nanoTime() - start - chainNanos);
+            }
+        } finally {
+            // Payload generation has copied or decoded what it needs, so the buffers can go back to the pool
+            wrappedRequest.getCapture().release();
+            wrappedResponse.getCapture().release();
+        }
     }
 
     private void newAuditRequestPayload(final HttpServletRequest request, final String content) {
@@ -69,59 +124,294 @@ public class AuditFilter extends OncePerRequestFilter {
         mapper.responseToPayload(request, response, content);
     }
 
-    private void submitAuditPayload(final ContentCachingRequestWrapper wrappedRequest, final ContentCachingResponseWrapper wrappedResponse) {
+    private void recordCaptureMetrics(final TeeRequestWrapper wrappedRequest, final TeeResponseWrapper wrappedResponse, final AuditDecision decision,
+                                      final String route, final long nanos) {
+        final int status = wrappedResponse.getStatus();
+        final BodyCapture requestCapture = wrappedRequest.getCapture();
+        final BodyCapture responseCapture = wrappedResponse.getCapture();
+        auditMetrics.recordCapture(route, status, nanos);
+        auditMetrics.recordBodySize(route, status, AuditMetrics.Body.REQUEST, requestCapture.getTotalBytes());
+        auditMetrics.recordBodySize(route, status, AuditMetrics.Body.RESPONSE, responseCapture.getTotalBytes());
+        if (decision.capturesRequestBody() && requestCapture.isTruncated()) {
+            auditMetrics.recordTruncation(route, status, AuditMetrics.Body.REQUEST);
+        }
+        if (decision.capturesResponseBody() && responseCapture.isTruncated()) {
+            auditMetrics.recordTruncation(route, status, AuditMetrics.Body.RESPONSE);
+        }
+    }
+
+    /**
+     * @param route the route template for metrics, null when metrics are disabled or no route matched
+     */
+    private void submitAuditPayload(final TeeRequestWrapper wrappedRequest, final TeeResponseWrapper wrappedResponse, final AuditDecision decision,
+                                    final Duration duration, final String route) {
+        final long start = auditMetrics.isEnabled() ? System.nanoTime() : 0;
         final String contextPath = removeLeadingForwardSlash(wrappedRequest.getContextPath());
-        final String requestPayload = getPayload(wrappedRequest.getContentAsByteArray(), wrappedRequest.getCharacterEncoding());
         final Map<String, String> headers = getHeaders(wrappedRequest);
-        final Map<String, String> queryParams = getQueryParams(wrappedRequest);
-        final Map<String, String> pathParams = Map.of("param", "path-param-todo");
+        final boolean withParams = includesParams(decision.requestLevel());
+        final Map<String, String> queryParams = withParams ? getQueryParams(wrappedRequest) : Map.of();
+        final Map<String, String> pathParams = withParams ? getPathParams(wrappedRequest) : Map.of();
+
+        if (auditProperties.getPayload().getMode() == AuditProperties.PayloadMode.EXCHANGE) {
+            // Each half is content only, the exchange event carries the one set of metadata
+            final PayloadFactory<Object> contents = new ContentFactory();
+            final AuditExchange exchange = AuditExchange.builder()
+                    .request(decision.requestLevel() != AuditLevel.SKIP
+                            ? requestPayload(contents, wrappedRequest, decision, queryParams, pathParams)
+                            : null)
+                    .requestHeaders(withParams ? getExchangeHeaders(wrappedRequest) : Map.of())
+                    .response(decision.responseLevel() != AuditLevel.SKIP
+                            ? responsePayload(contents, wrappedResponse, decision)
+                            : null)
+                    .status(wrappedResponse.getStatus())
+                    .responseHeaders(includesParams(decision.responseLevel()) ? getExchangeHeaders(wrappedResponse) : Map.of())
+                    .duration(duration)
+                    .build();
+            final AuditEvent exchangePayload = auditPayloadGenerationService.generateExchangePayload(contextPath, exchange, headers);
+            if (auditMetrics.isEnabled()) {
+                auditMetrics.recordPayloadGeneration(route, wrappedResponse.getStatus(), System.nanoTime() - start);
+            }
+            auditPublisher.publish(exchangePayload);
+            return;
+        }
+
+        final PayloadFactory<AuditEvent> events = new EventFactory(contextPath, headers);
+        final AuditEvent requestPayload = decision.requestLevel() != AuditLevel.SKIP
+                ? requestPayload(events, wrappedRequest, decision, queryParams, pathParams)
+                : null;
+        final AuditEvent responsePayload = decision.responseLevel() != AuditLevel.SKIP
+                ? responsePayload(events, wrappedResponse, decision)
+                : null;
+        if (auditMetrics.isEnabled()) {
+            auditMetrics.recordPayloadGeneration(route, wrappedResponse.getStatus(), System.nanoTime() - start);
+        }
+
+        if (requestPayload != null) {
+            auditPublisher.publish(requestPayload);
+        }
+        if (responsePayload != null) {
+            auditPublisher.publish(responsePayload);
+        }
+    }
+
+    private <T> T requestPayload(final PayloadFactory<T> factory, final TeeRequestWrapper wrappedRequest, final AuditDecision decision,
+                                 final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        final BodyCapture capture = wrappedRequest.getCapture();
+        if (capture.isDigested()) {
+            final BodyDescriptor body = new BodyDescriptor(wrappedRequest.getContentType(), capture.getTotalBytes(), List.of(),
+                    capture.getDigestAlgorithm(), capture.getDigest());
+            return factory.described(body, queryParams, pathParams);
+        }
+        if (decision.capturesRequestBody() && capture.isDescribed()) {
+            return factory.described(describeRequestBody(wrappedRequest), queryParams, pathParams);
+        }
+        if (auditProperties.getPayload().isRawPassthrough()) {
+            final byte[] requestBody = decision.capturesRequestBody() ? wrappedRequest.getContentAsByteArray() : new byte[0];
+            return factory.raw(requestBody, wrappedRequest.getCharacterEncoding(), queryParams, pathParams);
+        }
+        final String requestPayload = decision.capturesRequestBody() ? getPayload(capture, wrappedRequest.getCharacterEncoding()) : "";
+        return factory.text(requestPayload, queryParams, pathParams);
+    }
+
+    /**
+     * A captured response without a body isn't audited, one below {@code FULL} always is.
+     */
+    private <T> T responsePayload(final PayloadFactory<T> factory, final TeeResponseWrapper wrappedResponse, final AuditDecision decision) {
+        final BodyCapture capture = wrappedResponse.getCapture();
+        if (capture.isDigested()) {
+            final BodyDescriptor body = new BodyDescriptor(wrappedResponse.getContentType(), capture.getTotalBytes(), List.of(),
+                    capture.getDigestAlgorithm(), capture.getDigest());
+            return factory.described(body, Map.of(), Map.of());
+        }
+        final boolean raw = auditProperties.getPayload().isRawPassthrough();
+        if (!decision.capturesResponseBody()) {
+            return raw
+                    ? factory.raw(new byte[0], wrappedResponse.getCharacterEncoding(), Map.of(), Map.of())
+                    : factory.text("", Map.of(), Map.of());
+        }
+        if (capture.isDescribed()) {
+            final BodyDescriptor body = new BodyDescriptor(capture.getContentType(), capture.getTotalBytes(), List.of());
+            return capture.getTotalBytes() > 0 ? factory.described(body, Map.of(), Map.of()) : null;
+        }
+        if (raw) {
+            final byte[] responseBody = wrappedResponse.getContentAsByteArray();
+            return JsonTokenScanner.hasText(responseBody, 0, responseBody.length)
+                    ? factory.raw(responseBody, wrappedResponse.getCharacterEncoding(), Map.of(), Map.of())
+                    : null;
+        }
+        final String responsePayload = getPayload(capture, wrappedResponse.getCharacterEncoding());
+        return StringUtils.hasText(responsePayload) ? factory.text(responsePayload, Map.of(), Map.of()) : null;
+    }
+
+    /**
+     * Builds what is audited for a request or response body: a complete event in {@code SEPARATE} mode, or the content
+     * alone for one half of an {@code EXCHANGE} event.
+     */
+    private interface PayloadFactory<T> {
+
+        T text(String body, Map<String, String> queryParams, Map<String, String> pathParams);
+
+        T raw(byte[] body, String characterEncoding, Map<String, String> queryParams, Map<String, String> pathParams);
 
-        final AuditPayload auditRequestPayload = auditPayloadGenerationService.generatePayload(contextPath, requestPayload, headers, queryParams, pathParams);
-        auditService.postMessageToArtemis(auditRequestPayload);
+        T described(BodyDescriptor body, Map<String, String> queryParams, Map<String, String> pathParams);
+    }
+
+    private final class EventFactory implements PayloadFactory<AuditEvent> {
+
+        private final String contextPath;
+        private final Map<String, String> headers;
+
+        private EventFactory(final String contextPath, final Map<String, String> headers) {
+            this.contextPath = contextPath;
+            this.headers = headers;
+        }
+
+        @Override
+        public AuditEvent text(final String body, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+            return auditPayloadGenerationService.generatePayload(contextPath, body, headers, queryParams, pathParams);
+        }
+
+        @Override
+        public AuditEvent raw(final byte[] body, final String characterEncoding, final Map<String, String> queryParams,
+                              final Map<String, String> pathParams) {
+            return auditPayloadGenerationService.generatePayload(contextPath, body, characterEncoding, headers, queryParams, pathParams);
+        }
+
+        @Override
+        public AuditEvent described(final BodyDescriptor body, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+            return auditPayloadGenerationService.generatePayload(contextPath, body, headers, queryParams, pathParams);
+        }
+    }
+
+    private final class ContentFactory implements PayloadFactory<Object> {
+
+        @Override
+        public Object text(final String body, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+            return auditPayloadGenerationService.generateContent(body, queryParams, pathParams);
+        }
+
+        @Override
+        public Object raw(final byte[] body, final String characterEncoding, final Map<String, String> queryParams,
+                          final Map<String, String> pathParams) {
+            return auditPayloadGenerationService.generateContent(body, characterEncoding, queryParams, pathParams);
+        }
 
-        final String responsePayload = getPayload(wrappedResponse.getContentAsByteArray(), wrappedResponse.getCharacterEncoding());
-        if (StringUtils.hasText(responsePayload)) {
-            final AuditPayload auditResponsePayload = auditPayloadGenerationService.generatePayload(contextPath, responsePayload, headers);
-            auditService.postMessageToArtemis(auditResponsePayload);
+        @Override
+        public Object described(final BodyDescriptor body, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+            return auditPayloadGenerationService.generateContent(body, queryParams, pathParams);
         }
     }
 
-    private String getRequestBody(final ContentCachingRequestWrapper request) throws IOException {
+    /**
+     * The container parses a multipart body into parts on its own stream, so the length comes from the request and the
+     * part names from the parts the application has already had parsed.
+     */
+    private BodyDescriptor describeRequestBody(final TeeRequestWrapper wrappedRequest) {
+        final BodyCapture capture = wrappedRequest.getCapture();
+        final long contentLength = wrappedRequest.getContentLengthLong();
+        final long length = contentLength >= 0 ? contentLength : capture.getTotalBytes();
+        return new BodyDescriptor(capture.getContentType(), length, getPartNames(wrappedRequest));
+    }
+
+    private List<String> getPartNames(final HttpServletRequest request) {
+        final String contentType = request.getContentType();
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return List.of();
+        }
+        try {
+            return request.getParts().stream().map(Part::getName).distinct().toList();
+        } catch (IOException | ServletException | IllegalStateException ex) {
+            log.debug("Could not read the parts of a multipart request for audit {}", ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private static boolean includesParams(final AuditLevel level) {
+        return level == AuditLevel.HEADERS || level == AuditLevel.DIGEST || level == AuditLevel.FULL;
+    }
+
+    private String getRequestBody(final TeeRequestWrapper request) throws IOException {
+        if (request.getCapture().isDescribed() || request.getCapture().isDigested()) {
+            // Don't drain a binary body the application left unread into memory
+            return "";
+        }
         return new String(request.getInputStream().readAllBytes(), request.getCharacterEncoding());
     }
 
-    private String getResponseBody(final ContentCachingResponseWrapper response) throws UnsupportedEncodingException {
+    private String getResponseBody(final TeeResponseWrapper response) throws UnsupportedEncodingException {
         return new String(response.getContentAsByteArray(), response.getCharacterEncoding());
     }
 
     /**
      * This works for response but not request
      */
-    private String getPayload(final byte[] content, final String encoding) {
+    private String getPayload(final BodyCapture content, final String encoding) {
         try {
-            return new String(content, encoding);
-        } catch (IOException ex) {
+            return content.getContentAsString(Charset.forName(encoding));
+        } catch (IllegalArgumentException ex) {
             log.error("Failed to parse payload for audit {}", ex.getMessage());
             throw new RuntimeException("Failed to parse payload for audit");
         }
     }
 
     private Map<String, String> getHeaders(final HttpServletRequest request) {
-        final Map<String, String> headers = new HashMap<>();
-        final Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            final String headerName = headerNames.nextElement();
-            headers.put(headerName, request.getHeader(headerName));
+        return AuditHeaders.of(request);
+    }
+
+    private Map<String, String> getExchangeHeaders(final HttpServletRequest request) {
+        final Map<String, String> headers = new LinkedHashMap<>();
+        final Enumeration<String> names = request.getHeaderNames();
+        while (names != null && names.hasMoreElements()) {
+            final String name = names.nextElement();
+            if (!isExcludedHeader(name)) {
+                headers.put(name, request.getHeader(name));
+            }
         }
         return headers;
     }
 
+    private Map<String, String> getExchangeHeaders(final HttpServletResponse response) {
+        final Map<String, String> headers = new LinkedHashMap<>();
+        for (final String name : response.getHeaderNames()) {
+            if (!isExcludedHeader(name)) {
+                headers.put(name, String.join(",", response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private boolean isExcludedHeader(final String name) {
+        for (final String excluded : auditProperties.getPayload().getExcludedHeaders()) {
+            if (excluded.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Map<String, String> getQueryParams(final HttpServletRequest request) {
         final Map<String, String> queryParams = new HashMap<>();
         request.getParameterMap().forEach((key, value) -> queryParams.put(key, String.join(",", value)));
         return queryParams;
     }
 
+    private String getRoute(final HttpServletRequest request) {
+        return routeResolver.resolve(request.getMethod(), getPath(request))
+                .map(RouteMatch::template)
+                .orElse(null);
+    }
+
+    private Map<String, String> getPathParams(final HttpServletRequest request) {
+        return routeResolver.resolve(request.getMethod(), getPath(request))
+                .map(RouteMatch::pathParams)
+                .orElse(Map.of());
+    }
+
+    private static String getPath(final HttpServletRequest request) {
+        final String requestUri = request.getRequestURI();
+        final String contextPath = request.getContextPath();
+        return contextPath != null && requestUri.startsWith(contextPath) ? requestUri.substring(contextPath.length()) : requestUri;
+    }
 
     private String removeLeadingForwardSlash(final String contextPath) {
         if (contextPath != null && contextPath.startsWith("/")) {
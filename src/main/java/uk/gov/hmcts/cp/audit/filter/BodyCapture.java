@@ -0,0 +1,194 @@
+package uk.gov.hmcts.cp.audit.filter;
+
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Keeps the first {@code limit} bytes of a request or response body in a buffer leased from the
+ * {@link CaptureBufferPool}, growing through the pool's size classes as the body grows.
+ * Nothing is leased until the first byte arrives, and {@link #release()} hands the buffer back;
+ * bytes written after that are only counted.
+ * <p>
+ * A capture switched to {@link #describeOnly} keeps no bytes at all, only the content type and length of the body.
+ * One switched to {@link #digestOnly} feeds every byte into a digest instead, so a body of any size is covered in
+ * constant memory.
+ */
+public class BodyCapture {
+
+    public static final String TRUNCATION_MARKER = "...[truncated]";
+
+    private static final byte[] TRUNCATION_MARKER_BYTES = TRUNCATION_MARKER.getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_CAPACITY = 4 * 1024;
+
+    private final CaptureBufferPool pool;
+    private final int limit;
+    private ByteBuffer buffer;
+    private long totalBytes;
+    private boolean released;
+    private boolean described;
+    private String contentType;
+    private MessageDigest digest;
+    private String digestValue;
+
+    public BodyCapture(final CaptureBufferPool pool, final int limit) {
+        this.pool = pool;
+        this.limit = limit;
+    }
+
+    public void write(final byte[] bytes, final int offset, final int length) {
+        totalBytes += length;
+        if (digest != null) {
+            if (!released) {
+                digest.update(bytes, offset, length);
+            }
+            return;
+        }
+        final int accepted = Math.min(length, limit - size());
+        if (accepted <= 0 || released || described) {
+            return;
+        }
+        ensureCapacity(size() + accepted);
+        buffer.put(bytes, offset, accepted);
+    }
+
+    public int size() {
+        return buffer == null ? 0 : buffer.position();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public boolean isTruncated() {
+        return !described && digest == null && totalBytes > size();
+    }
+
+    /**
+     * Hashes the body with {@code algorithm} as it is written instead of keeping it.
+     *
+     * @throws IllegalArgumentException when the algorithm isn't available
+     */
+    public void digestOnly(final String algorithm) {
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported audit digest algorithm " + algorithm, e);
+        }
+        releaseBuffer();
+    }
+
+    public boolean isDigested() {
+        return digest != null;
+    }
+
+    public String getDigestAlgorithm() {
+        return digest == null ? null : digest.getAlgorithm();
+    }
+
+    /**
+     * The hex encoded digest of everything written so far, which completes the digest; later writes aren't covered.
+     */
+    public String getDigest() {
+        if (digest == null) {
+            return null;
+        }
+        if (digestValue == null) {
+            digestValue = HexFormat.of().formatHex(digest.digest());
+        }
+        return digestValue;
+    }
+
+    /**
+     * Stops keeping the body, handing back any buffer already leased, while still counting its length.
+     */
+    public void describeOnly(final String bodyContentType) {
+        described = true;
+        contentType = bodyContentType;
+        releaseBuffer();
+    }
+
+    public boolean isDescribed() {
+        return described;
+    }
+
+    /**
+     * The content type of a described body.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * The captured bytes, followed by {@link #TRUNCATION_MARKER} when the body exceeded the limit.
+     */
+    public byte[] getContentAsByteArray() {
+        final int size = size();
+        final int length = isTruncated() ? size + TRUNCATION_MARKER_BYTES.length : size;
+        final byte[] content = new byte[length];
+        if (size > 0) {
+            buffer.get(0, content, 0, size);
+        }
+        if (isTruncated()) {
+            System.arraycopy(TRUNCATION_MARKER_BYTES, 0, content, size, TRUNCATION_MARKER_BYTES.length);
+        }
+        return content;
+    }
+
+    /**
+     * Decodes the captured bytes straight from the buffer when it is heap backed, avoiding an intermediate copy.
+     */
+    public String getContentAsString(final Charset charset) {
+        final String marker = isTruncated() ? TRUNCATION_MARKER : "";
+        if (buffer == null) {
+            return marker;
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset(), size(), charset) + marker;
+        }
+        return new String(getContentAsByteArray(), charset);
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    public void reset() {
+        totalBytes = 0;
+        described = false;
+        contentType = null;
+        digestValue = null;
+        if (digest != null) {
+            digest.reset();
+        }
+        if (buffer != null) {
+            buffer.clear();
+        }
+    }
+
+    public void release() {
+        released = true;
+        releaseBuffer();
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private void releaseBuffer() {
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private void ensureCapacity(final int required) {
+        if (buffer == null) {
+            buffer = pool.lease(Math.min(limit, Math.max(required, INITIAL_CAPACITY)));
+        } else if (required > buffer.capacity()) {
+            final ByteBuffer larger = pool.lease(Math.min(limit, Math.max(required, buffer.capacity() << 1)));
+            larger.put(buffer.flip());
+            pool.release(buffer);
+            buffer = larger;
+        }
+    }
+}
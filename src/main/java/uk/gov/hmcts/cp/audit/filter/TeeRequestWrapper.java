@@ -0,0 +1,174 @@
+package uk.gov.hmcts.cp.audit.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Request wrapper that copies the body into a {@link BodyCapture} as the application reads it.
+ * Like {@link org.springframework.web.util.ContentCachingRequestWrapper}, a form body consumed through the
+ * parameter methods is captured from the parsed parameters instead.
+ */
+public class TeeRequestWrapper extends HttpServletRequestWrapper {
+
+    private final BodyCapture capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public TeeRequestWrapper(final HttpServletRequest request, final BodyCapture capture) {
+        super(request);
+        this.capture = capture;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeInputStream(getRequest().getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getCharacterEncoding()));
+        }
+        return reader;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        final String encoding = super.getCharacterEncoding();
+        return encoding != null ? encoding : StandardCharsets.ISO_8859_1.name();
+    }
+
+    @Override
+    public String getParameter(final String name) {
+        captureFormParametersIfNecessary();
+        return super.getParameter(name);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        captureFormParametersIfNecessary();
+        return super.getParameterMap();
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        captureFormParametersIfNecessary();
+        return super.getParameterNames();
+    }
+
+    @Override
+    public String[] getParameterValues(final String name) {
+        captureFormParametersIfNecessary();
+        return super.getParameterValues(name);
+    }
+
+    public BodyCapture getCapture() {
+        return capture;
+    }
+
+    public byte[] getContentAsByteArray() {
+        return capture.getContentAsByteArray();
+    }
+
+    private void captureFormParametersIfNecessary() {
+        if (capture.getTotalBytes() > 0 || inputStream != null || !isFormPost()) {
+            return;
+        }
+        final Charset charset = Charset.forName(getCharacterEncoding());
+        final StringBuilder form = new StringBuilder();
+        for (final Iterator<Map.Entry<String, String[]>> entries = super.getParameterMap().entrySet().iterator(); entries.hasNext(); ) {
+            final Map.Entry<String, String[]> entry = entries.next();
+            final String[] values = entry.getValue();
+            for (int i = 0; i < values.length; i++) {
+                form.append(URLEncoder.encode(entry.getKey(), charset));
+                if (values[i] != null) {
+                    form.append('=').append(URLEncoder.encode(values[i], charset));
+                }
+                if (i < values.length - 1) {
+                    form.append('&');
+                }
+            }
+            if (entries.hasNext()) {
+                form.append('&');
+            }
+        }
+        final byte[] bytes = form.toString().getBytes(charset);
+        capture.write(bytes, 0, bytes.length);
+    }
+
+    private boolean isFormPost() {
+        final String contentType = getContentType();
+        return contentType != null && contentType.contains(MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                && HttpMethod.POST.matches(getMethod());
+    }
+
+    private final class TeeInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final byte[] single = new byte[1];
+
+        private TeeInputStream(final ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = delegate.read();
+            if (value != -1) {
+                single[0] = (byte) value;
+                capture.write(single, 0, 1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            final int count = delegate.read(bytes, offset, length);
+            if (count > 0) {
+                capture.write(bytes, offset, count);
+            }
+            return count;
+        }
+
+        @Override
+        public int readLine(final byte[] bytes, final int offset, final int length) throws IOException {
+            final int count = delegate.readLine(bytes, offset, length);
+            if (count > 0) {
+                capture.write(bytes, offset, count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package uk.gov.hmcts.cp.audit.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Response wrapper that passes every byte straight through to the real response while a {@link BodyCapture} keeps
+ * the first bytes, up to its limit, for auditing. Unlike {@link org.springframework.web.util.ContentCachingResponseWrapper}
+ * the body is never held back, so flushing and committing behave as they would without the wrapper and memory use is
+ * bounded however large the response is.
+ * <p>
+ * The content type is checked when the first byte is written, and a body whose type isn't captured is only counted,
+ * unless the capture is digesting it.
+ */
+public class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final BodyCapture capture;
+    private final Predicate<String> capturedContentType;
+    private TeeOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean contentTypeChecked;
+
+    public TeeResponseWrapper(final HttpServletResponse response, final BodyCapture capture) {
+        this(response, capture, contentType -> true);
+    }
+
+    public TeeResponseWrapper(final HttpServletResponse response, final BodyCapture capture, final Predicate<String> capturedContentType) {
+        super(response);
+        this.capture = capture;
+        this.capturedContentType = capturedContentType;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return teeOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            final String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.ISO_8859_1.name();
+            writer = new PrintWriter(new OutputStreamWriter(teeOutputStream(), encoding));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        } else if (outputStream != null) {
+            outputStream.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        capture.reset();
+        contentTypeChecked = false;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        capture.reset();
+        contentTypeChecked = false;
+    }
+
+    public BodyCapture getCapture() {
+        return capture;
+    }
+
+    /**
+     * The captured prefix of the body, followed by {@link BodyCapture#TRUNCATION_MARKER} when the body exceeded the capture limit.
+     */
+    public byte[] getContentAsByteArray() {
+        return capture.getContentAsByteArray();
+    }
+
+    public boolean isTruncated() {
+        return capture.isTruncated();
+    }
+
+    public long getTotalBytes() {
+        return capture.getTotalBytes();
+    }
+
+    private void tee(final byte[] bytes, final int offset, final int length) {
+        if (!contentTypeChecked) {
+            contentTypeChecked = true;
+            final String contentType = getContentType();
+            if (!capture.isDigested() && !capturedContentType.test(contentType)) {
+                capture.describeOnly(contentType);
+            }
+        }
+        capture.write(bytes, offset, length);
+    }
+
+    private TeeOutputStream teeOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final byte[] single = new byte[1];
+
+        private TeeOutputStream(final ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int value) throws IOException {
+            delegate.write(value);
+            single[0] = (byte) value;
+            tee(single, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            tee(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
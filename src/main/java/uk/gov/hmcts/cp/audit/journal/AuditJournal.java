@@ -0,0 +1,334 @@
+package uk.gov.hmcts.cp.audit.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of serialized audit messages in memory-mapped segment files of a fixed size.
+ * <p>
+ * Each record is framed as {@code [int length][int crc32][payload]}, the length being written last so a record only
+ * becomes visible once complete. A replayed record is marked by negating its length in place, and a segment is deleted
+ * once every record in it has been replayed. On opening, every segment is scanned and a torn record, one whose
+ * checksum doesn't match, ends its segment, so what was appended before a crash is replayed and nothing after it.
+ * <p>
+ * Methods are synchronized, the journal is only written while the broker is failing. Opened with {@code fsync}, the
+ * journal keeps track of what was written since the last {@link #force()}, which syncs it to disk outside of the lock,
+ * so an append never waits on the disk.
+ */
+@Slf4j
+public final class AuditJournal implements Closeable {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 8;
+    private static final byte TEXT_RECORD = 0;
+    private static final byte BYTES_RECORD = 1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final boolean fsync;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final CRC32 checksum = new CRC32();
+    private long pendingCount;
+
+    private AuditJournal(final Path directory, final int segmentSize, final int maxSegments, final boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(1, maxSegments);
+        this.fsync = fsync;
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating it if need be and recovering the records of earlier runs.
+     *
+     * @param fsync track what is written so that {@link #force()} can sync it to disk, rather than leaving it to the page
+     *              cache
+     */
+    public static AuditJournal open(final Path directory, final int segmentSize, final int maxSegments, final boolean fsync) throws IOException {
+        final AuditJournal journal = new AuditJournal(directory, segmentSize, maxSegments, fsync);
+        Files.createDirectories(directory);
+        final List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(AuditJournal::isSegment).sorted().toList();
+        }
+        for (final Path file : files) {
+            journal.recover(file);
+        }
+        return journal;
+    }
+
+    /**
+     * @return false when the journal is full, or the message is larger than a segment
+     */
+    public synchronized boolean append(final AuditMessage message) {
+        final byte[] body = message.isBytes() ? message.bytes() : message.text().getBytes(StandardCharsets.UTF_8);
+        return append(message.name(), message.contentEncoding(), !message.isBytes(), body, body.length);
+    }
+
+    /**
+     * Appends the first {@code length} bytes of {@code body}, which are copied before this method returns.
+     *
+     * @param text whether the body is the UTF-8 text of a text message rather than the body of a bytes message
+     * @return false when the journal is full, or the message is larger than a segment
+     */
+    public synchronized boolean append(final String name, final String contentEncoding, final boolean text, final byte[] body, final int length) {
+        final byte[] nameBytes = bytes(name);
+        final byte[] encodingBytes = bytes(contentEncoding);
+        final int payloadSize = 1 + 2 + nameBytes.length + 2 + encodingBytes.length + length;
+        final int recordSize = HEADER_SIZE + payloadSize;
+        if (recordSize > segmentSize - HEADER_SIZE) {
+            log.error("Audit message {} of {} bytes is too large for a journal segment of {} bytes", name, length, segmentSize);
+            return false;
+        }
+
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + recordSize > segmentSize) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            segment = newSegment(segment == null ? 0 : segment.sequence + 1);
+        }
+
+        final MappedByteBuffer buffer = segment.buffer;
+        final int position = segment.writePosition;
+        buffer.position(position + HEADER_SIZE);
+        buffer.put(text ? TEXT_RECORD : BYTES_RECORD);
+        buffer.putShort((short) nameBytes.length).put(nameBytes);
+        buffer.putShort((short) encodingBytes.length).put(encodingBytes);
+        buffer.put(body, 0, length);
+        buffer.putInt(position + 4, crc(buffer, position + HEADER_SIZE, payloadSize));
+        buffer.putInt(position, payloadSize);
+        if (fsync) {
+            segment.markDirty(position, position + recordSize);
+        }
+        segment.writePosition = position + recordSize;
+        pendingCount++;
+        return true;
+    }
+
+    /**
+     * The oldest record not yet replayed, or null when there is none. It stays the oldest until {@link #commit()}.
+     */
+    public synchronized AuditMessage peek() {
+        final Segment segment = readSegment();
+        if (segment == null) {
+            return null;
+        }
+        final MappedByteBuffer buffer = segment.buffer;
+        buffer.position(segment.readPosition + HEADER_SIZE);
+        final int payloadSize = buffer.getInt(segment.readPosition);
+        final boolean text = buffer.get() == TEXT_RECORD;
+        final String name = string(buffer, Short.toUnsignedInt(buffer.getShort()));
+        final String contentEncoding = string(buffer, Short.toUnsignedInt(buffer.getShort()));
+        final byte[] body = new byte[segment.readPosition + HEADER_SIZE + payloadSize - buffer.position()];
+        buffer.get(body);
+        if (text) {
+            return AuditMessage.text(name, new String(body, StandardCharsets.UTF_8));
+        }
+        return contentEncoding == null ? AuditMessage.bytes(name, body) : AuditMessage.encoded(name, body, contentEncoding);
+    }
+
+    /**
+     * Marks the record returned by {@link #peek()} as replayed.
+     */
+    public synchronized void commit() {
+        final Segment segment = readSegment();
+        if (segment == null) {
+            return;
+        }
+        final int payloadSize = segment.buffer.getInt(segment.readPosition);
+        segment.buffer.putInt(segment.readPosition, -payloadSize);
+        if (fsync) {
+            segment.markDirty(segment.readPosition, segment.readPosition + 4);
+        }
+        segment.readPosition += HEADER_SIZE + payloadSize;
+        pendingCount--;
+    }
+
+    /**
+     * Syncs the records appended and replayed since the last call to disk, with one sync for each segment written to.
+     * The sync happens outside of the lock, so appends carry on meanwhile. Does nothing unless opened with {@code fsync}.
+     */
+    public void force() {
+        if (!fsync) {
+            return;
+        }
+        final List<DirtyRange> dirty = new ArrayList<>();
+        synchronized (this) {
+            for (final Segment segment : segments) {
+                if (segment.dirtyFrom < segment.dirtyTo) {
+                    dirty.add(new DirtyRange(segment.buffer, segment.dirtyFrom, segment.dirtyTo - segment.dirtyFrom));
+                    segment.dirtyFrom = Integer.MAX_VALUE;
+                    segment.dirtyTo = 0;
+                }
+            }
+        }
+        for (final DirtyRange range : dirty) {
+            range.buffer().force(range.offset(), range.length());
+        }
+    }
+
+    public synchronized long getPendingCount() {
+        return pendingCount;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (final Segment segment : segments) {
+            if (fsync) {
+                segment.buffer.force();
+            }
+        }
+        segments.clear();
+    }
+
+    /**
+     * The segment holding the oldest record to replay, deleting the fully replayed segments before it.
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private Segment readSegment() {
+        Segment segment = segments.peekFirst();
+        while (segment != null && segment.readPosition >= segment.writePosition) {
+            if (segment == segments.peekLast()) {
+                return null;
+            }
+            segments.removeFirst();
+            delete(segment.path);
+            segment = segments.peekFirst();
+        }
+        return segment;
+    }
+
+    private void recover(final Path file) throws IOException {
+        final Segment segment = map(file, sequence(file));
+        final MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        int readPosition = -1;
+        while (position + HEADER_SIZE <= segmentSize) {
+            final int length = buffer.getInt(position);
+            final int payloadSize = Math.abs(length);
+            if (payloadSize <= 0 || (long) position + HEADER_SIZE + payloadSize > segmentSize
+                    || buffer.getInt(position + 4) != crc(buffer, position + HEADER_SIZE, payloadSize)) {
+                break;
+            }
+            if (length > 0) {
+                pendingCount++;
+                if (readPosition < 0) {
+                    readPosition = position;
+                }
+            }
+            position += HEADER_SIZE + payloadSize;
+        }
+        // Clear a torn record so that records appended over it can't be mistaken for part of it
+        for (int i = position; i < Math.min(position + HEADER_SIZE, segmentSize); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        segment.writePosition = position;
+        segment.readPosition = readPosition < 0 ? position : readPosition;
+        segments.addLast(segment);
+        if (readPosition >= 0) {
+            log.info("Recovered audit journal segment {} with records to replay", file.getFileName());
+        }
+    }
+
+    private Segment newSegment(final long sequence) {
+        try {
+            final Segment segment = map(directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX)), sequence);
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create audit journal segment", e);
+        }
+    }
+
+    private Segment map(final Path file, final long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping outlives the channel, and mapping past the end of the file grows it to the segment size
+            return new Segment(sequence, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    private int crc(final MappedByteBuffer buffer, final int offset, final int length) {
+        checksum.reset();
+        checksum.update(buffer.slice(offset, length));
+        return (int) checksum.getValue();
+    }
+
+    private static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete replayed audit journal segment {}", file, e);
+        }
+    }
+
+    private static boolean isSegment(final Path file) {
+        final String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long sequence(final Path file) {
+        final String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static byte[] bytes(final String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(final MappedByteBuffer buffer, final int length) {
+        if (length == 0) {
+            return null;
+        }
+        final byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+
+        private final long sequence;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+        /** The bytes written since the segment was last forced, none when {@code dirtyFrom >= dirtyTo}. */
+        private int dirtyFrom = Integer.MAX_VALUE;
+        private int dirtyTo;
+
+        private Segment(final long sequence, final Path path, final MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private void markDirty(final int from, final int to) {
+            dirtyFrom = Math.min(dirtyFrom, from);
+            dirtyTo = Math.max(dirtyTo, to);
+        }
+    }
+
+    private record DirtyRange(MappedByteBuffer buffer, int offset, int length) {
+    }
+}
@@ -0,0 +1,250 @@
+package uk.gov.hmcts.cp.audit.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
+import uk.gov.hmcts.cp.audit.service.AuditClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps audit messages the broker can't take in an {@link AuditJournal} and replays them once it recovers, so a broker
+ * outage or brown-out neither loses audits nor fails the API call that produced them.
+ * <p>
+ * A failed send, or one slower than {@code audit.journal.latency-budget}, marks the broker as degraded for
+ * {@code audit.journal.backoff}, during which messages go straight to the journal. A background thread replays the
+ * journal in order at no more than {@code audit.journal.replay-rate} messages a second while the broker isn't degraded.
+ * With {@code audit.journal.fsync}, the same thread syncs what was journalled to disk every tick, so a request thread
+ * spilling a message never waits on the disk.
+ */
+@Component
+@Slf4j
+public class AuditSpillJournal {
+
+    private static final long REPLAY_INTERVAL_MILLIS = 100;
+
+    private final AuditClient client;
+    private final AuditProperties.Journal settings;
+    private final LongAdder spilledCount = new LongAdder();
+    private final LongAdder replayedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile AuditJournal journal;
+    private volatile long degradedUntil = System.nanoTime();
+    private ScheduledExecutorService scheduler;
+    private double replayAllowance;
+    private long lastReplayTick;
+
+    public AuditSpillJournal(final AuditClient client, final AuditProperties properties) {
+        this.client = client;
+        this.settings = properties.getJournal();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isEnabled() || journal != null) {
+            return;
+        }
+        try {
+            journal = AuditJournal.open(settings.getDirectory(), settings.getSegmentSize(), settings.getMaxSegments(), settings.isFsync());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open audit journal in " + settings.getDirectory(), e);
+        }
+        log.info("Opened audit journal in {} with {} messages to replay", settings.getDirectory(), journal.getPendingCount());
+        if (settings.getReplayRate() > 0 || settings.isFsync()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("audit-journal").daemon().factory());
+        }
+        if (settings.getReplayRate() > 0) {
+            lastReplayTick = System.nanoTime();
+            scheduler.scheduleWithFixedDelay(this::replayQuietly, REPLAY_INTERVAL_MILLIS, REPLAY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (settings.isFsync()) {
+            // Group commit: one sync a tick for everything journalled in it
+            scheduler.scheduleWithFixedDelay(this::forceQuietly, REPLAY_INTERVAL_MILLIS, REPLAY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    @SuppressWarnings("PMD.NullAssignment")
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * Whether messages should skip the broker and go straight to the journal, because the broker recently failed.
+     */
+    public boolean isBypassing() {
+        return journal != null && System.nanoTime() - degradedUntil < 0;
+    }
+
+    /**
+     * Records how long a successful send took, marking the broker degraded when it was over the latency budget.
+     */
+    public void recordLatency(final long nanos) {
+        if (journal != null && nanos > settings.getLatencyBudget().toNanos()) {
+            log.warn("Audit message took {} ms to send, journalling messages for {}", TimeUnit.NANOSECONDS.toMillis(nanos), settings.getBackoff());
+            degrade();
+        }
+    }
+
+    public void recordFailure(final RuntimeException failure) {
+        if (journal != null) {
+            log.warn("Failed to send audit message, journalling messages for {}: {}", settings.getBackoff(), failure.getMessage());
+            degrade();
+        }
+    }
+
+    /**
+     * @return false when the journal is disabled or full, in which case the message hasn't been kept
+     */
+    public boolean spill(final String name, final String text) {
+        final byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        return spill(name, null, true, body, body.length);
+    }
+
+    /**
+     * Keeps the first {@code length} bytes of {@code body}, which may be a reusable buffer as they are copied.
+     *
+     * @return false when the journal is disabled or full, in which case the message hasn't been kept
+     */
+    public boolean spill(final String name, final byte[] body, final int length, final String contentEncoding) {
+        return spill(name, contentEncoding, false, body, length);
+    }
+
+    /**
+     * @return false when the journal is disabled or full, in which case some or all of the messages haven't been kept
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    public boolean spill(final List<AuditMessage> messages) {
+        final AuditJournal current = journal;
+        if (current == null) {
+            return false;
+        }
+        boolean kept = true;
+        for (final AuditMessage message : messages) {
+            kept &= appended(current, current.append(message));
+        }
+        return kept;
+    }
+
+    /**
+     * Sends up to {@code maxMessages} journalled messages to the broker, oldest first, stopping at the first failure.
+     *
+     * @return the number of messages replayed
+     */
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.CloseResource"})
+    public int replay(final int maxMessages) {
+        final AuditJournal current = journal;
+        int replayed = 0;
+        while (current != null && replayed < maxMessages) {
+            final AuditMessage message = current.peek();
+            if (message == null) {
+                break;
+            }
+            try {
+                send(message);
+            } catch (RuntimeException e) {
+                recordFailure(e);
+                break;
+            }
+            current.commit();
+            replayed++;
+        }
+        replayedCount.add(replayed);
+        return replayed;
+    }
+
+    public long getPendingCount() {
+        final AuditJournal current = journal;
+        return current == null ? 0 : current.getPendingCount();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    public long getReplayedCount() {
+        return replayedCount.sum();
+    }
+
+    /**
+     * Messages that should have been journalled but were lost because the journal was full.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private boolean spill(final String name, final String contentEncoding, final boolean text, final byte[] body, final int length) {
+        final AuditJournal current = journal;
+        return current != null && appended(current, current.append(name, contentEncoding, text, body, length));
+    }
+
+    private boolean appended(final AuditJournal current, final boolean appended) {
+        if (appended) {
+            spilledCount.increment();
+        } else {
+            rejectedCount.increment();
+            log.error("Audit journal is full with {} messages to replay, lost an audit message", current.getPendingCount());
+        }
+        return appended;
+    }
+
+    private void send(final AuditMessage message) {
+        if (!message.isBytes()) {
+            client.postMessageToArtemis(message.name(), message.text());
+        } else {
+            client.postMessageToArtemis(message.name(), message.bytes(), message.bytes().length, message.contentEncoding());
+        }
+    }
+
+    private void degrade() {
+        degradedUntil = System.nanoTime() + settings.getBackoff().toNanos();
+    }
+
+    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.CloseResource"})
+    private void forceQuietly() {
+        final AuditJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.force();
+        } catch (RuntimeException e) {
+            log.error("Failed to sync the audit journal to disk", e);
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void replayQuietly() {
+        final long now = System.nanoTime();
+        final int rate = settings.getReplayRate();
+        // Token bucket, holding at most one second of replay
+        replayAllowance = Math.min(rate, replayAllowance + rate * (now - lastReplayTick) / 1e9);
+        lastReplayTick = now;
+        if (isBypassing() || replayAllowance < 1) {
+            return;
+        }
+        try {
+            replayAllowance -= replay((int) replayAllowance);
+        } catch (RuntimeException e) {
+            log.error("Failed to replay the audit journal", e);
+        }
+    }
+}
@@ -5,8 +5,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
+import uk.gov.hmcts.cp.audit.util.AuditHeaders;
 
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -27,9 +28,8 @@ public interface AuditPayloadMapper {
 
     @Named("requestHeadersToMap")
     static Map<String, String> requestHeadersToMap(final HttpServletRequest request) {
-        return Collections.list(request.getHeaderNames()).stream().collect(
-                Collectors.toMap(name -> name, name -> request.getHeader(name), (name, value) -> name + value)
-        );
+        // The payload outlives the request, so take a copy rather than keeping the view
+        return new HashMap<>(AuditHeaders.of(request));
     }
 
     @Named("responseHeadersToMap")
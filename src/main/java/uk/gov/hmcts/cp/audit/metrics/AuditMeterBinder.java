@@ -0,0 +1,89 @@
+package uk.gov.hmcts.cp.audit.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import uk.gov.hmcts.cp.audit.journal.AuditSpillJournal;
+import uk.gov.hmcts.cp.audit.parser.RouteResolver;
+import uk.gov.hmcts.cp.audit.service.AuditCircuitBreaker;
+import uk.gov.hmcts.cp.audit.service.AuditPublisher;
+import uk.gov.hmcts.cp.audit.service.AuditService;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+
+import java.util.Locale;
+
+/**
+ * Exposes the counters the audit components already keep as gauges and function counters, read when the registry is
+ * scraped rather than recorded as they change.
+ */
+public class AuditMeterBinder implements MeterBinder {
+
+    private final AuditPublisher publisher;
+    private final AuditService auditService;
+    private final AuditSpillJournal spillJournal;
+    private final AuditCircuitBreaker circuitBreaker;
+    private final CaptureBufferPool captureBufferPool;
+    private final RouteResolver routeResolver;
+
+    public AuditMeterBinder(final AuditPublisher publisher, final AuditService auditService, final AuditSpillJournal spillJournal,
+                            final AuditCircuitBreaker circuitBreaker, final CaptureBufferPool captureBufferPool,
+                            final RouteResolver routeResolver) {
+        this.publisher = publisher;
+        this.auditService = auditService;
+        this.spillJournal = spillJournal;
+        this.circuitBreaker = circuitBreaker;
+        this.captureBufferPool = captureBufferPool;
+        this.routeResolver = routeResolver;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("audit.publisher.queue.depth", publisher, AuditPublisher::getQueueDepth)
+                .description("Audit events waiting to be published")
+                .register(registry);
+        FunctionCounter.builder("audit.publisher.published", publisher, AuditPublisher::getPublishedCount)
+                .register(registry);
+        FunctionCounter.builder("audit.publisher.dropped", publisher, AuditPublisher::getDroppedCount)
+                .description("Audit events dropped because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("audit.fallback.dropped", auditService, AuditService::getDroppedCount)
+                .description("Audit messages dropped by the circuit breaker fallback")
+                .register(registry);
+
+        Gauge.builder("audit.journal.pending", spillJournal, AuditSpillJournal::getPendingCount)
+                .description("Journalled audit messages waiting to be replayed")
+                .register(registry);
+        FunctionCounter.builder("audit.journal.spilled", spillJournal, AuditSpillJournal::getSpilledCount).register(registry);
+        FunctionCounter.builder("audit.journal.replayed", spillJournal, AuditSpillJournal::getReplayedCount).register(registry);
+        FunctionCounter.builder("audit.journal.rejected", spillJournal, AuditSpillJournal::getRejectedCount)
+                .description("Audit messages lost because the journal was full")
+                .register(registry);
+
+        for (final AuditCircuitBreaker.State state : AuditCircuitBreaker.State.values()) {
+            Gauge.builder("audit.circuit.breaker.state", circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("1 for the state the audit broker circuit breaker is in, 0 for the others")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        FunctionCounter.builder("audit.circuit.breaker.opened", circuitBreaker, AuditCircuitBreaker::getOpenedCount).register(registry);
+        FunctionCounter.builder("audit.circuit.breaker.rejected", circuitBreaker, AuditCircuitBreaker::getRejectedCount)
+                .description("Sends failed fast while the circuit breaker was open")
+                .register(registry);
+        Gauge.builder("audit.circuit.breaker.failure.rate", circuitBreaker, AuditCircuitBreaker::getFailureRate)
+                .baseUnit("percent")
+                .register(registry);
+        Gauge.builder("audit.circuit.breaker.slow.call.rate", circuitBreaker, AuditCircuitBreaker::getSlowCallRate)
+                .baseUnit("percent")
+                .register(registry);
+
+        FunctionCounter.builder("audit.capture.buffers.allocated", captureBufferPool, CaptureBufferPool::getAllocatedCount).register(registry);
+        FunctionCounter.builder("audit.capture.buffers.reused", captureBufferPool, CaptureBufferPool::getReusedCount).register(registry);
+        Gauge.builder("audit.capture.buffers.pooled", captureBufferPool, CaptureBufferPool::getPooledCount).register(registry);
+
+        FunctionCounter.builder("audit.route.cache.hits", routeResolver, RouteResolver::getHitCount).register(registry);
+        FunctionCounter.builder("audit.route.cache.misses", routeResolver, RouteResolver::getMissCount).register(registry);
+        FunctionCounter.builder("audit.route.cache.evictions", routeResolver, RouteResolver::getEvictionCount).register(registry);
+        Gauge.builder("audit.route.cache.size", routeResolver, RouteResolver::getSize).register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package uk.gov.hmcts.cp.audit.metrics;
+
+/**
+ * Records how long each stage of the audit pipeline takes and how much it handles. The filter stages are tagged with
+ * the route template the request matched and the class of the response status; serialization and sending happen
+ * once the exchange has been turned into a message, possibly on a publisher thread, and aren't.
+ * <p>
+ * Every method does nothing by default, which is what {@link #NOOP} is used for when there is no meter registry.
+ */
+public interface AuditMetrics {
+
+    AuditMetrics NOOP = new AuditMetrics() {
+    };
+
+    enum Body {
+        REQUEST,
+        RESPONSE
+    }
+
+    /**
+     * Whether anything is recorded, so callers can skip the work of finding the tags.
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Time the filter added to an exchange outside of the application, capturing and auditing it.
+     */
+    default void recordCapture(final String route, final int status, final long nanos) {
+    }
+
+    default void recordPayloadGeneration(final String route, final int status, final long nanos) {
+    }
+
+    /**
+     * The full size of a body seen by the filter, whether or not it was captured.
+     */
+    default void recordBodySize(final String route, final int status, final Body body, final long bytes) {
+    }
+
+    default void recordTruncation(final String route, final int status, final Body body) {
+    }
+
+    /**
+     * An exchange the audit policy skipped.
+     */
+    default void recordSkipped(final String route, final int status) {
+    }
+
+    /**
+     * @param bytes           the size of the message body as sent
+     * @param contentEncoding the codec a compressed body was encoded with, null when it wasn't
+     */
+    default void recordSerialization(final long nanos, final int bytes, final String contentEncoding) {
+    }
+
+    default void recordSerializationFailure() {
+    }
+
+    /**
+     * A send to the broker, including one the circuit breaker failed fast.
+     */
+    default void recordSend(final long nanos, final boolean failed) {
+    }
+}
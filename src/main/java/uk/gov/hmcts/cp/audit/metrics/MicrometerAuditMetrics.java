@@ -0,0 +1,168 @@
+package uk.gov.hmcts.cp.audit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AuditMetrics} backed by a Micrometer {@link MeterRegistry}. The meters for each route and status class are
+ * registered the first time they are seen and kept, so recording doesn't look them up in the registry again.
+ */
+public class MicrometerAuditMetrics implements AuditMetrics {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry registry;
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> messageSizes = new ConcurrentHashMap<>();
+    private final Timer serializationTimer;
+    private final Counter serializationFailures;
+    private final Timer sendTimer;
+    private final Timer failedSendTimer;
+    private final Counter sendFailures;
+
+    public MicrometerAuditMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        this.serializationTimer = Timer.builder("audit.serialization")
+                .description("Time taken to serialize an audit event into a message")
+                .register(registry);
+        this.serializationFailures = failures("serialization");
+        this.sendTimer = sends("success");
+        this.failedSendTimer = sends("failure");
+        this.sendFailures = failures("send");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordCapture(final String route, final int status, final long nanos) {
+        meters(route, status).capture.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordPayloadGeneration(final String route, final int status, final long nanos) {
+        meters(route, status).payloadGeneration.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordBodySize(final String route, final int status, final Body body, final long bytes) {
+        final RouteMeters meters = meters(route, status);
+        (body == Body.REQUEST ? meters.requestSize : meters.responseSize).record(bytes);
+    }
+
+    @Override
+    public void recordTruncation(final String route, final int status, final Body body) {
+        final RouteMeters meters = meters(route, status);
+        (body == Body.REQUEST ? meters.requestTruncations : meters.responseTruncations).increment();
+    }
+
+    @Override
+    public void recordSkipped(final String route, final int status) {
+        meters(route, status).skipped.increment();
+    }
+
+    @Override
+    public void recordSerialization(final long nanos, final int bytes, final String contentEncoding) {
+        serializationTimer.record(nanos, TimeUnit.NANOSECONDS);
+        final String encoding = contentEncoding == null ? "identity" : contentEncoding;
+        messageSizes.computeIfAbsent(encoding, key -> DistributionSummary.builder("audit.message.size")
+                .description("Size of audit messages as sent to the broker")
+                .baseUnit("bytes")
+                .tag("encoding", key)
+                .register(registry)).record(bytes);
+    }
+
+    @Override
+    public void recordSerializationFailure() {
+        serializationFailures.increment();
+    }
+
+    @Override
+    public void recordSend(final long nanos, final boolean failed) {
+        (failed ? failedSendTimer : sendTimer).record(nanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            sendFailures.increment();
+        }
+    }
+
+    private RouteMeters meters(final String route, final int status) {
+        final String routeTag = route == null ? UNKNOWN : route;
+        final String statusTag = statusClass(status);
+        return routeMeters.computeIfAbsent(routeTag + ' ' + statusTag, key -> new RouteMeters(registry, Tags.of("route", routeTag, "status", statusTag)));
+    }
+
+    private Timer sends(final String outcome) {
+        return Timer.builder("audit.send")
+                .description("Time taken to send an audit message to the broker")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter failures(final String stage) {
+        return Counter.builder("audit.failures")
+                .description("Audit messages that failed to serialize or send")
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    static String statusClass(final int status) {
+        return status >= 100 && status < 600 ? (status / 100) + "xx" : UNKNOWN;
+    }
+
+    private static final class RouteMeters {
+
+        private final Timer capture;
+        private final Timer payloadGeneration;
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final Counter requestTruncations;
+        private final Counter responseTruncations;
+        private final Counter skipped;
+
+        private RouteMeters(final MeterRegistry registry, final Tags tags) {
+            this.capture = Timer.builder("audit.capture")
+                    .description("Time the audit filter added to a request outside of the application")
+                    .tags(tags)
+                    .register(registry);
+            this.payloadGeneration = Timer.builder("audit.payload.generation")
+                    .description("Time taken to generate the audit events for a request")
+                    .tags(tags)
+                    .register(registry);
+            this.requestSize = bodySize(registry, tags, Body.REQUEST);
+            this.responseSize = bodySize(registry, tags, Body.RESPONSE);
+            this.requestTruncations = truncations(registry, tags, Body.REQUEST);
+            this.responseTruncations = truncations(registry, tags, Body.RESPONSE);
+            this.skipped = Counter.builder("audit.skipped")
+                    .description("Requests the audit policy skipped")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        private static DistributionSummary bodySize(final MeterRegistry registry, final Tags tags, final Body body) {
+            return DistributionSummary.builder("audit.body.size")
+                    .description("Size of the bodies seen by the audit filter")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .tag("body", body.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+
+        private static Counter truncations(final MeterRegistry registry, final Tags tags, final Body body) {
+            return Counter.builder("audit.truncations")
+                    .description("Bodies cut short at the capture limit")
+                    .tags(tags)
+                    .tag("body", body.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.cp.audit.model;
+
+/**
+ * An audit event that can be serialized and published, whatever the representation of its content.
+ */
+public interface AuditEvent {
+
+    /**
+     * The content of the event, serializable by Jackson.
+     */
+    Object content();
+
+    String timestamp();
+
+    AuditMetadata _metadata();
+}
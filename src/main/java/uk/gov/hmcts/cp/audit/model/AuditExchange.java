@@ -0,0 +1,28 @@
+package uk.gov.hmcts.cp.audit.model;
+
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One request and its response, combined by {@code AuditPayloadGenerationService} into a single audit event.
+ *
+ * @param request         the request content without metadata, see {@code AuditPayloadGenerationService.generateContent},
+ *                        null when the request isn't audited
+ * @param requestHeaders  the request headers to record, empty when the request level doesn't include them
+ * @param response        the response content without metadata, null when there is no response body to audit
+ * @param status          the response status
+ * @param responseHeaders the response headers to record, empty when the response level doesn't include them
+ * @param duration        the time the application took to handle the request
+ */
+@Builder
+public record AuditExchange(
+        Object request,
+        Map<String, String> requestHeaders,
+        Object response,
+        int status,
+        Map<String, String> responseHeaders,
+        Duration duration
+) {
+}
@@ -0,0 +1,31 @@
+package uk.gov.hmcts.cp.audit.model;
+
+/**
+ * A serialized audit event ready to be sent, {@code name} becomes the CPPNAME message property.
+ * Exactly one of {@code text} and {@code bytes} is set, deciding whether a text or a bytes message is sent.
+ * {@code contentEncoding} names the codec that compressed {@code bytes}, and is null for uncompressed messages.
+ */
+@SuppressWarnings("PMD.ArrayIsStoredDirectly")
+public record AuditMessage(
+        String name,
+        String text,
+        byte[] bytes,
+        String contentEncoding
+) {
+
+    public static AuditMessage text(final String name, final String text) {
+        return new AuditMessage(name, text, null, null);
+    }
+
+    public static AuditMessage bytes(final String name, final byte[] bytes) {
+        return new AuditMessage(name, null, bytes, null);
+    }
+
+    public static AuditMessage encoded(final String name, final byte[] bytes, final String contentEncoding) {
+        return new AuditMessage(name, null, bytes, contentEncoding);
+    }
+
+    public boolean isBytes() {
+        return bytes != null;
+    }
+}
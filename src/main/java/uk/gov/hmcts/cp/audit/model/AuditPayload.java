@@ -10,4 +10,4 @@ public record AuditPayload(
         String component,
         String timestamp,
         AuditMetadata _metadata
-) {}
+) implements AuditEvent {}
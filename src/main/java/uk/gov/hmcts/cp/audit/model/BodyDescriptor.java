@@ -0,0 +1,27 @@
+package uk.gov.hmcts.cp.audit.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Stands in for a body that wasn't captured, because of its content type or because only its digest is audited.
+ *
+ * @param length    the body length in bytes
+ * @param parts     the part names of a multipart body, empty otherwise
+ * @param algorithm the digest algorithm, null when the body wasn't digested
+ * @param digest    the hex encoded digest of the body, null when the body wasn't digested
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record BodyDescriptor(
+        String contentType,
+        long length,
+        List<String> parts,
+        String algorithm,
+        String digest
+) {
+
+    public BodyDescriptor(final String contentType, final long length, final List<String> parts) {
+        this(contentType, length, parts, null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.cp.audit.model;
+
+import lombok.Builder;
+
+/**
+ * Same envelope as {@link AuditPayload}, but the content is kept as the captured UTF-8 bytes and written verbatim
+ * rather than being parsed into a tree.
+ */
+@Builder
+public record RawAuditPayload(
+        RawJsonContent content,
+        String origin,
+        String component,
+        String timestamp,
+        AuditMetadata _metadata
+) implements AuditEvent {}
@@ -0,0 +1,118 @@
+package uk.gov.hmcts.cp.audit.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import uk.gov.hmcts.cp.audit.util.JsonTokenScanner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Audit content backed by the captured UTF-8 body. It serializes to the same JSON as the tree built by
+ * {@code AuditPayloadGenerationService}: an object body has the extra fields and {@code _metadata} merged into it,
+ * an array body is wrapped under {@code _payload}, and anything else becomes a {@code _payload} string.
+ * Valid JSON bodies are copied verbatim into the output rather than parsed and re-serialized.
+ */
+@SuppressWarnings("PMD.ArrayIsStoredDirectly")
+public final class RawJsonContent implements JsonSerializable {
+
+    private static final String ATTRIBUTE_PAYLOAD_KEY = "_payload";
+    private static final String ATTRIBUTE_METADATA_KEY = "_metadata";
+
+    private final byte[] body;
+    private final JsonTokenScanner.Shape shape;
+    private final Map<String, String> fields;
+    private final AuditMetadata metadata;
+
+    /**
+     * @param body     the UTF-8 body, which must not be modified afterwards
+     * @param shape    the result of {@link JsonTokenScanner#scan} over the whole body
+     * @param fields   extra string fields such as query and path parameters, ignored for invalid JSON
+     * @param metadata the content metadata block, null to leave it out
+     */
+    public RawJsonContent(final byte[] body, final JsonTokenScanner.Shape shape, final Map<String, String> fields, final AuditMetadata metadata) {
+        this.body = body;
+        this.shape = shape;
+        this.fields = fields;
+        this.metadata = metadata;
+    }
+
+    public JsonTokenScanner.Shape getShape() {
+        return shape;
+    }
+
+    public int getLength() {
+        return body.length;
+    }
+
+    @Override
+    public void serialize(final JsonGenerator gen, final SerializerProvider serializers) throws IOException {
+        final int start = JsonTokenScanner.skipWhitespace(body, 0, body.length);
+        final int end = JsonTokenScanner.trimEnd(body, start, body.length);
+
+        final boolean withFields = shape != JsonTokenScanner.Shape.INVALID && fields != null && !fields.isEmpty();
+        gen.writeStartObject();
+        switch (shape) {
+            case OBJECT:
+                // Members of the body come first; the generator doesn't know about them so the separator is ours
+                if (JsonTokenScanner.hasText(body, start + 1, end - start - 2)) {
+                    writeRawBytes(gen, start + 1, end - 1);
+                    if (withFields || metadata != null) {
+                        gen.writeRaw(',');
+                    }
+                }
+                break;
+            case ARRAY:
+                gen.writeFieldName(ATTRIBUTE_PAYLOAD_KEY);
+                writeRawValue(gen, start, end);
+                break;
+            default:
+                gen.writeStringField(ATTRIBUTE_PAYLOAD_KEY, new String(body, StandardCharsets.UTF_8));
+                break;
+        }
+
+        if (withFields) {
+            for (final Map.Entry<String, String> field : fields.entrySet()) {
+                gen.writeStringField(field.getKey(), field.getValue());
+            }
+        }
+        if (metadata != null) {
+            gen.writeFieldName(ATTRIBUTE_METADATA_KEY);
+            serializers.defaultSerializeValue(metadata, gen);
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(final JsonGenerator gen, final SerializerProvider serializers, final TypeSerializer typeSer) throws IOException {
+        serialize(gen, serializers);
+    }
+
+    private void writeRawValue(final JsonGenerator gen, final int from, final int to) throws IOException {
+        if (gen.getOutputTarget() instanceof OutputStream) {
+            // Lets the generator emit its separator and mark the value as written, then appends the bytes
+            gen.writeRawValue("");
+            writeRawBytes(gen, from, to);
+        } else {
+            gen.writeRawValue(new String(body, from, to - from, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Byte-oriented generators are flushed and the body is written straight to their target, so it is never copied
+     * through the generator's buffer. Character-oriented generators (e.g. {@code writeValueAsString}) get it decoded once.
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    private void writeRawBytes(final JsonGenerator gen, final int from, final int to) throws IOException {
+        if (gen.getOutputTarget() instanceof OutputStream out) {
+            gen.flush();
+            out.write(body, from, to - from);
+        } else {
+            gen.writeRaw(new String(body, from, to - from, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+/**
+ * An operation declared in an OpenAPI spec.
+ *
+ * @param method      the upper case HTTP method
+ * @param template    the path template, e.g. {@code /cases/{caseId}/details}
+ * @param operationId the operation id, may be null when the spec doesn't declare one
+ * @param source      the name of the spec that declares the operation, may be null when unknown
+ */
+public record ApiRoute(String method, String template, String operationId, String source) {
+}
@@ -0,0 +1,202 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import io.swagger.parser.OpenAPIParser;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.util.ClasspathResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * {@link RestApiParser} backed by the OpenAPI specs of the service. The routes are read from the {@link RouteTable}
+ * generated at build time when there is one, otherwise every spec found on the classpath is parsed, in parallel. Either
+ * way the routes of all specs are merged into one {@link RouteTrie}, so resolving a request costs the same however many
+ * specs there are.
+ * <p>
+ * The trie is published as an immutable snapshot behind an {@link AtomicReference}. With {@code audit.openapi.reload.enabled}
+ * a background thread checks the table or specs for changes, compiles a new trie and swaps it in, so request threads never
+ * take a lock or see a half-built index.
+ */
+@Service
+@Slf4j
+public class OpenApiRouteIndex implements RestApiParser {
+
+    private final OpenApiSpecReader specReader;
+    private final ClasspathResourceLoader resourceLoader;
+    private final AuditProperties.OpenApi settings;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final LongAdder rebuildCount = new LongAdder();
+    private final LongAdder failedRebuildCount = new LongAdder();
+
+    private volatile Duration lastRebuildDuration = Duration.ZERO;
+    private ScheduledExecutorService reloader;
+
+    public OpenApiRouteIndex(final OpenAPIParser openAPIParser, final ClasspathResourceLoader resourceLoader, final AuditProperties properties) {
+        this.specReader = new OpenApiSpecReader(openAPIParser);
+        this.resourceLoader = resourceLoader;
+        this.settings = properties.getOpenapi();
+    }
+
+    @PostConstruct
+    public void load() {
+        reload();
+        if (snapshot.get().routes().size() == 0) {
+            log.warn("No API paths found in {} or specs matching {}, path parameters will not be audited",
+                    settings.getRouteTable(), settings.getSpecPattern());
+        }
+        final AuditProperties.Reload reload = settings.getReload();
+        if (reload.isEnabled() && reloader == null) {
+            final long interval = reload.getInterval().toMillis();
+            reloader = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("audit-route-reloader").daemon().factory());
+            reloader.scheduleWithFixedDelay(this::reloadQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    @SuppressWarnings("PMD.NullAssignment")
+    public void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
+    }
+
+    /**
+     * Rebuilds the index when the route table or specs have changed since the current snapshot was built.
+     *
+     * @return true when a new snapshot was swapped in
+     */
+    public synchronized boolean reload() {
+        final Snapshot current = snapshot.get();
+        final Resource table = new ClassPathResource(settings.getRouteTable());
+        final boolean precompiled = table.exists();
+        final List<Resource> sources = precompiled ? List.of(table) : findSpecs();
+        final String fingerprint = fingerprint(sources);
+        if (fingerprint.equals(current.fingerprint())) {
+            return false;
+        }
+
+        final long start = System.nanoTime();
+        final List<ApiRoute> apiRoutes = precompiled ? readRouteTable(table).orElseGet(() -> readSpecs(findSpecs())) : readSpecs(sources);
+        final RouteTrie routes = compile(apiRoutes);
+        snapshot.set(new Snapshot(routes, fingerprint, current.version() + 1));
+        lastRebuildDuration = Duration.ofNanos(System.nanoTime() - start);
+        rebuildCount.increment();
+        log.info("Indexed {} API paths from {} in {} ms", routes.size(),
+                precompiled ? settings.getRouteTable() : sources.size() + " specs", lastRebuildDuration.toMillis());
+        return true;
+    }
+
+    @Override
+    public Map<String, Pattern> getPathPatterns() {
+        return snapshot.get().routes().getPathPatterns();
+    }
+
+    @Override
+    public Optional<RouteMatch> matchRoute(final String method, final String path) {
+        return snapshot.get().routes().match(method, path);
+    }
+
+    @Override
+    public long getVersion() {
+        return snapshot.get().version();
+    }
+
+    public int getIndexSize() {
+        return snapshot.get().routes().size();
+    }
+
+    public Duration getLastRebuildDuration() {
+        return lastRebuildDuration;
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.sum();
+    }
+
+    public long getFailedRebuildCount() {
+        return failedRebuildCount.sum();
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            failedRebuildCount.increment();
+            log.error("Failed to reload the API route index, keeping the current one", e);
+        }
+    }
+
+    private List<Resource> findSpecs() {
+        // The loader memoizes lookups, forget the last one so new or removed specs are seen
+        resourceLoader.evict(settings.getSpecPattern());
+        return resourceLoader.loadAllFilesByPattern(settings.getSpecPattern());
+    }
+
+    private static RouteTrie compile(final List<ApiRoute> apiRoutes) {
+        final RouteTrie compiled = RouteTrie.compile(apiRoutes);
+        compiled.getConflicts().forEach(conflict -> log.warn("Route conflict: {}", conflict));
+        return compiled;
+    }
+
+    private static String fingerprint(final List<Resource> sources) {
+        final StringBuilder fingerprint = new StringBuilder();
+        for (final Resource source : sources) {
+            fingerprint.append(source.getDescription());
+            try {
+                fingerprint.append('@').append(source.lastModified()).append(':').append(source.contentLength());
+            } catch (IOException e) {
+                fingerprint.append("@unreadable");
+            }
+            fingerprint.append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    private Optional<List<ApiRoute>> readRouteTable(final Resource table) {
+        try (Reader reader = new InputStreamReader(table.getInputStream(), StandardCharsets.UTF_8)) {
+            return Optional.of(RouteTable.read(reader));
+        } catch (IOException e) {
+            log.error("Failed to read route table {}, falling back to parsing the spec", settings.getRouteTable(), e);
+            return Optional.empty();
+        }
+    }
+
+    private List<ApiRoute> readSpecs(final List<Resource> specs) {
+        return specs.parallelStream()
+                .flatMap(spec -> readSpec(spec).stream())
+                .toList();
+    }
+
+    private List<ApiRoute> readSpec(final Resource spec) {
+        try {
+            return specReader.readRoutes(spec.getContentAsString(StandardCharsets.UTF_8), spec.getFilename());
+        } catch (IOException e) {
+            log.error("Failed to read OpenAPI spec {}", spec.getFilename(), e);
+            return List.of();
+        }
+    }
+
+    private record Snapshot(RouteTrie routes, String fingerprint, long version) {
+
+        private static final Snapshot EMPTY = new Snapshot(RouteTrie.empty(), "", 0);
+    }
+}
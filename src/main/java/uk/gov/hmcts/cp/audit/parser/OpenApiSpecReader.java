@@ -0,0 +1,39 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the operations of an OpenAPI spec with swagger-parser. Shared by the runtime index and the build-time
+ * {@link RouteTableGenerator}.
+ */
+@AllArgsConstructor
+@Slf4j
+public class OpenApiSpecReader {
+
+    private final OpenAPIParser openAPIParser;
+
+    public List<ApiRoute> readRoutes(final String content, final String source) {
+        final List<ApiRoute> apiRoutes = new ArrayList<>();
+        final ParseOptions options = new ParseOptions();
+        options.setResolve(false);
+        final SwaggerParseResult result = openAPIParser.readContents(content, null, options);
+        if (result.getMessages() != null && !result.getMessages().isEmpty()) {
+            log.warn("OpenAPI spec {} parsed with messages {}", source, result.getMessages());
+        }
+        final OpenAPI openAPI = result.getOpenAPI();
+        if (openAPI == null || openAPI.getPaths() == null) {
+            return apiRoutes;
+        }
+        openAPI.getPaths().forEach((template, pathItem) -> pathItem.readOperationsMap()
+                .forEach((method, operation) -> apiRoutes.add(new ApiRoute(method.name(), template, operation.getOperationId(), source))));
+        return apiRoutes;
+    }
+}
@@ -1,9 +1,9 @@
 package uk.gov.hmcts.cp.audit.parser;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
-@SuppressWarnings("PMD.ImplicitFunctionalInterface")
 public interface RestApiParser {
 
     /**
@@ -12,4 +12,22 @@ public interface RestApiParser {
      * @return a map where keys are API paths and values are regex patterns
      */
     Map<String, Pattern> getPathPatterns();
+
+    /**
+     * Matches a request path, relative to the context path, against the API paths.
+     *
+     * @param method the HTTP method of the request
+     * @param path   the request path without the context path
+     * @return the matched template, operation id and path parameters, or empty when no API path matches
+     */
+    Optional<RouteMatch> matchRoute(String method, String path);
+
+    /**
+     * Returns a number that changes whenever the API paths are rebuilt, so callers can drop anything derived from them.
+     *
+     * @return the version of the API paths
+     */
+    default long getVersion() {
+        return 0;
+    }
 }
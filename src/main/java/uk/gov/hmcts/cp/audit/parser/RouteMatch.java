@@ -0,0 +1,14 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import java.util.Map;
+
+/**
+ * The outcome of matching a request path against the routes of the OpenAPI specs.
+ *
+ * @param template    the matched path template
+ * @param operationId the operation id for the request method, null when the template has no operation for that method
+ * @param pathParams  the decoded path parameter values keyed by the names used in the template
+ * @param source      the spec that declares the operation, or the template when the method has none
+ */
+public record RouteMatch(String template, String operationId, Map<String, String> pathParams, String source) {
+}
@@ -0,0 +1,89 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.ConcurrentLruCache;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves request paths through a bounded, concurrent LRU cache in front of {@link RestApiParser}, so repeated
+ * requests for the same concrete path cost a hash lookup. Paths that match no route are cached too.
+ * <p>
+ * Entries are keyed by the {@link RestApiParser#getVersion() version} of the routes as well, so a resolution made before
+ * the routes were rebuilt is never served afterwards. The cache is cleared when a new version is first seen.
+ */
+@Service
+public class RouteResolver {
+
+    private final RestApiParser restApiParser;
+    private final ConcurrentLruCache<RouteKey, Optional<RouteMatch>> cache;
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder clearedCount = new LongAdder();
+    private final AtomicLong cachedVersion = new AtomicLong();
+
+    @SuppressWarnings("PMD.NullAssignment")
+    public RouteResolver(final RestApiParser restApiParser, final AuditProperties properties) {
+        this.restApiParser = restApiParser;
+        final int cacheSize = properties.getOpenapi().getRouteCacheSize();
+        this.cache = cacheSize > 0 ? new ConcurrentLruCache<>(cacheSize, this::load) : null;
+    }
+
+    public Optional<RouteMatch> resolve(final String method, final String path) {
+        if (cache == null || path == null) {
+            return restApiParser.matchRoute(method, path);
+        }
+        final long version = restApiParser.getVersion();
+        final long previousVersion = cachedVersion.get();
+        if (version != previousVersion && cachedVersion.compareAndSet(previousVersion, version)) {
+            clear();
+        }
+        requestCount.increment();
+        return cache.get(new RouteKey(method, path, version));
+    }
+
+    /**
+     * Drops every cached resolution, for when the routes behind the parser change.
+     */
+    public void clear() {
+        if (cache != null) {
+            clearedCount.add(cache.size());
+            cache.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return requestCount.sum() - missCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRate() {
+        final long requests = requestCount.sum();
+        return requests == 0 ? 0 : (double) getHitCount() / requests;
+    }
+
+    /**
+     * Entries evicted to keep the cache within its size, derived from the entries loaded, still held and cleared.
+     */
+    public long getEvictionCount() {
+        return cache == null ? 0 : Math.max(0, missCount.sum() - cache.size() - clearedCount.sum());
+    }
+
+    public int getSize() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    private Optional<RouteMatch> load(final RouteKey key) {
+        missCount.increment();
+        return restApiParser.matchRoute(key.method(), key.path());
+    }
+
+    private record RouteKey(String method, String path, long version) {
+    }
+}
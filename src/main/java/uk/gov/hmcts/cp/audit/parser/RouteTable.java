@@ -0,0 +1,68 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precompiled route table, one tab separated {@code method template operationId source} line per operation, generated at
+ * build time by {@link RouteTableGenerator} so the spec doesn't have to be parsed on startup.
+ */
+public final class RouteTable {
+
+    /** Default classpath location of the table, see {@code audit.openapi.route-table}. */
+    public static final String LOCATION = "META-INF/audit-route-table.tsv";
+
+    private static final String HEADER = "# audit-route-table v2";
+    private static final char SEPARATOR = '\t';
+    private static final int COLUMNS = 4;
+
+    private RouteTable() {
+    }
+
+    public static void write(final List<ApiRoute> routes, final Writer writer) throws IOException {
+        writer.write(HEADER);
+        writer.write('\n');
+        for (final ApiRoute route : routes) {
+            writer.write(route.method());
+            writer.write(SEPARATOR);
+            writer.write(route.template());
+            writer.write(SEPARATOR);
+            writer.write(nullToEmpty(route.operationId()));
+            writer.write(SEPARATOR);
+            writer.write(nullToEmpty(route.source()));
+            writer.write('\n');
+        }
+    }
+
+    public static List<ApiRoute> read(final Reader reader) throws IOException {
+        final BufferedReader lines = new BufferedReader(reader);
+        final String header = lines.readLine();
+        if (!HEADER.equals(header)) {
+            throw new IOException("Unsupported route table header: " + header);
+        }
+        final List<ApiRoute> routes = new ArrayList<>();
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            final String[] columns = line.split(String.valueOf(SEPARATOR), -1);
+            if (columns.length != COLUMNS) {
+                throw new IOException("Malformed route table line: " + line);
+            }
+            routes.add(new ApiRoute(columns[0], columns[1], emptyToNull(columns[2]), emptyToNull(columns[3])));
+        }
+        return routes;
+    }
+
+    private static String nullToEmpty(final String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(final String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import io.swagger.parser.OpenAPIParser;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Build-time entry point that precompiles one or more OpenAPI specs into a {@link RouteTable}, see the
+ * {@code generateRouteTable} Gradle task. Clashes between the specs are reported as they would be at startup.
+ * <p>
+ * Usage: {@code RouteTableGenerator <output file> <spec file>...}
+ */
+@Slf4j
+public final class RouteTableGenerator {
+
+    private static final int MIN_ARGS = 2;
+
+    private RouteTableGenerator() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < MIN_ARGS) {
+            throw new IllegalArgumentException("Usage: RouteTableGenerator <output file> <spec file>...");
+        }
+        final Path output = Path.of(args[0]);
+        final OpenApiSpecReader specReader = new OpenApiSpecReader(new OpenAPIParser());
+
+        final List<ApiRoute> routes = Arrays.stream(args, 1, args.length)
+                .map(Path::of)
+                .flatMap(spec -> specReader.readRoutes(readString(spec), spec.getFileName().toString()).stream())
+                .toList();
+        RouteTrie.compile(routes).getConflicts().forEach(conflict -> log.warn("Route conflict: {}", conflict));
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            RouteTable.write(routes, writer);
+        }
+        log.info("Wrote {} routes from {} specs to {}", routes.size(), args.length - 1, output);
+    }
+
+    private static String readString(final Path spec) {
+        try {
+            return Files.readString(spec, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
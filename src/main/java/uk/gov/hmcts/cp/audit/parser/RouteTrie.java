@@ -0,0 +1,191 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import org.springframework.web.util.UriUtils;
+import uk.gov.hmcts.cp.audit.util.PathTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable segment trie over the path templates of an OpenAPI spec. Each {@code /}-separated segment of a template is
+ * a node, with a template parameter such as {@code {caseId}} sharing one wildcard child per node. Matching walks the
+ * request path once, preferring a static segment over a parameter and only backtracking when the static branch dead ends,
+ * so the cost depends on the depth of the path rather than the number of templates.
+ * <p>
+ * Templates are parsed by {@link PathTemplate}: only whole-segment parameters are recognised, a segment such as
+ * {@code {file}.json} is matched literally.
+ */
+public final class RouteTrie {
+
+    private static final RouteTrie NO_ROUTES = compile(List.of());
+
+    private final Node root;
+    private final Map<String, Pattern> pathPatterns;
+    private final List<String> conflicts;
+
+    private RouteTrie(final Node root, final Map<String, Pattern> pathPatterns, final List<String> conflicts) {
+        this.root = root;
+        this.pathPatterns = pathPatterns;
+        this.conflicts = conflicts;
+    }
+
+    public static RouteTrie empty() {
+        return NO_ROUTES;
+    }
+
+    /**
+     * Compiles the routes of one or more specs into a single trie. A route repeated with the same operation id is kept
+     * once; where routes disagree the first one wins and the clash is reported by {@link #getConflicts()}.
+     */
+    public static RouteTrie compile(final Collection<ApiRoute> routes) {
+        final NodeBuilder root = new NodeBuilder();
+        final Map<String, Pattern> pathPatterns = new LinkedHashMap<>();
+        final List<String> conflicts = new ArrayList<>();
+        for (final ApiRoute route : routes) {
+            final String[] segments = PathTemplate.segments(route.template());
+            NodeBuilder node = root;
+            for (final String segment : segments) {
+                node = PathTemplate.parameterName(segment) != null
+                        ? node.getOrCreateParameterChild()
+                        : node.staticChildren.computeIfAbsent(segment, key -> new NodeBuilder());
+            }
+            if (node.terminal == null) {
+                node.terminal = new Terminal(route.template(), parameterNames(segments), route.source());
+            } else if (!node.terminal.template.equals(route.template())) {
+                conflicts.add(String.format("%s %s from %s is shadowed by %s from %s", route.method(), route.template(),
+                        route.source(), node.terminal.template, node.terminal.source));
+                continue;
+            }
+            final String method = route.method().toUpperCase(Locale.ROOT);
+            final ApiRoute existing = node.terminal.operations.putIfAbsent(method, route);
+            if (existing != null && !Objects.equals(existing.operationId(), route.operationId())) {
+                conflicts.add(String.format("%s %s is %s in %s but %s in %s, keeping %s", method, route.template(),
+                        existing.operationId(), existing.source(), route.operationId(), route.source(), existing.operationId()));
+            }
+            pathPatterns.computeIfAbsent(route.template(), template -> toPattern(segments));
+        }
+        return new RouteTrie(root.build(), Collections.unmodifiableMap(pathPatterns), List.copyOf(conflicts));
+    }
+
+    public Optional<RouteMatch> match(final String method, final String path) {
+        if (path == null) {
+            return Optional.empty();
+        }
+        final String[] segments = PathTemplate.segments(path);
+        final Terminal terminal = find(root, segments, 0);
+        if (terminal == null) {
+            return Optional.empty();
+        }
+        final ApiRoute operation = method == null ? null : terminal.operations.get(method.toUpperCase(Locale.ROOT));
+        return Optional.of(new RouteMatch(terminal.template, operation == null ? null : operation.operationId(),
+                terminal.pathParams(segments), operation == null ? terminal.source : operation.source()));
+    }
+
+    /**
+     * A regex per path template, equivalent to the trie, for callers of {@link RestApiParser#getPathPatterns()}.
+     */
+    public Map<String, Pattern> getPathPatterns() {
+        return pathPatterns;
+    }
+
+    public int size() {
+        return pathPatterns.size();
+    }
+
+    /**
+     * Descriptions of the routes that clashed with an earlier route while compiling.
+     */
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+
+    private static Terminal find(final Node node, final String[] segments, final int index) {
+        if (index == segments.length) {
+            return node.terminal;
+        }
+        final Node staticChild = node.staticChildren.get(segments[index]);
+        if (staticChild != null) {
+            final Terminal terminal = find(staticChild, segments, index + 1);
+            if (terminal != null) {
+                return terminal;
+            }
+        }
+        return node.parameterChild == null ? null : find(node.parameterChild, segments, index + 1);
+    }
+
+    private static String[] parameterNames(final String[] segments) {
+        final String[] names = new String[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            names[i] = PathTemplate.parameterName(segments[i]);
+        }
+        return names;
+    }
+
+    private static Pattern toPattern(final String[] segments) {
+        final StringBuilder regex = new StringBuilder();
+        for (final String segment : segments) {
+            regex.append('/').append(PathTemplate.parameterName(segment) != null ? "([^/]+)" : Pattern.quote(segment));
+        }
+        return Pattern.compile(regex.isEmpty() ? "/" : regex.append("/?").toString());
+    }
+
+    private record Node(Map<String, Node> staticChildren, Node parameterChild, Terminal terminal) {
+    }
+
+    private record Terminal(String template, String[] parameterNames, String source, Map<String, ApiRoute> operations) {
+
+        private Terminal(final String template, final String[] parameterNames, final String source) {
+            this(template, parameterNames, source, new HashMap<>());
+        }
+
+        private Map<String, String> pathParams(final String[] segments) {
+            final Map<String, String> pathParams = new HashMap<>();
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i] != null) {
+                    pathParams.put(parameterNames[i], decode(segments[i]));
+                }
+            }
+            return Collections.unmodifiableMap(pathParams);
+        }
+
+        private static String decode(final String segment) {
+            try {
+                return UriUtils.decode(segment, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                return segment;
+            }
+        }
+    }
+
+    private static final class NodeBuilder {
+
+        private final Map<String, NodeBuilder> staticChildren = new HashMap<>();
+        private NodeBuilder parameterChild;
+        private Terminal terminal;
+
+        private NodeBuilder getOrCreateParameterChild() {
+            if (parameterChild == null) {
+                parameterChild = new NodeBuilder();
+            }
+            return parameterChild;
+        }
+
+        private Node build() {
+            final Map<String, Node> children = new HashMap<>();
+            staticChildren.forEach((segment, child) -> children.put(segment, child.build()));
+            final Terminal frozen = terminal == null ? null
+                    : new Terminal(terminal.template, terminal.parameterNames, terminal.source, Map.copyOf(terminal.operations));
+            return new Node(Map.copyOf(children), parameterChild == null ? null : parameterChild.build(), frozen);
+        }
+    }
+}
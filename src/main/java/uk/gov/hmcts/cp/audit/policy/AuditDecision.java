@@ -0,0 +1,31 @@
+package uk.gov.hmcts.cp.audit.policy;
+
+import uk.gov.hmcts.cp.audit.config.AuditProperties.AuditLevel;
+
+/**
+ * How much of one request and its response to audit.
+ *
+ * @param captureLimit bytes of each body to capture, 0 when neither level needs a body
+ */
+public record AuditDecision(AuditLevel requestLevel, AuditLevel responseLevel, int captureLimit) {
+
+    public boolean isSkipped() {
+        return requestLevel == AuditLevel.SKIP && responseLevel == AuditLevel.SKIP;
+    }
+
+    public boolean capturesRequestBody() {
+        return requestLevel == AuditLevel.FULL;
+    }
+
+    public boolean capturesResponseBody() {
+        return responseLevel == AuditLevel.FULL;
+    }
+
+    public boolean digestsRequestBody() {
+        return requestLevel == AuditLevel.DIGEST;
+    }
+
+    public boolean digestsResponseBody() {
+        return responseLevel == AuditLevel.DIGEST;
+    }
+}
@@ -0,0 +1,106 @@
+package uk.gov.hmcts.cp.audit.policy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.config.AuditProperties.AuditLevel;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decides how much of a request to audit from the {@code audit.policy} rules. The rules are compiled into
+ * {@link PathPattern}s once, when the policy is created, and each request is checked against them in order, the first
+ * matching rule deciding. The excluded paths are checked first, as rules skipping any method.
+ */
+@Component
+@Slf4j
+public class AuditPolicy {
+
+    private final List<CompiledRule> rules;
+    private final AuditDecision defaultDecision;
+
+    public AuditPolicy(final AuditProperties properties) {
+        final AuditProperties.Policy policy = properties.getPolicy();
+        final int defaultCaptureLimit = Math.max(0, policy.getDefaultCaptureLimit());
+        this.defaultDecision = decision(policy.getDefaultLevel(), policy.getDefaultResponseLevel(), defaultCaptureLimit);
+        this.rules = Stream.concat(
+                        policy.getExcludes().stream().map(AuditPolicy::exclude),
+                        policy.getRules().stream().map(rule -> compile(rule, defaultCaptureLimit)))
+                .toList();
+        if (!rules.isEmpty()) {
+            log.info("Compiled {} audit policy rules", rules.size());
+        }
+        if (Stream.concat(Stream.of(defaultDecision), rules.stream().map(CompiledRule::decision))
+                .anyMatch(decision -> decision.digestsRequestBody() || decision.digestsResponseBody())) {
+            checkDigestAlgorithm(properties.getCapture().getDigestAlgorithm());
+        }
+    }
+
+    /**
+     * @param path the request path without the context path
+     */
+    public AuditDecision decide(final String method, final String path) {
+        if (rules.isEmpty() || path == null) {
+            return defaultDecision;
+        }
+        final PathContainer pathContainer = PathContainer.parsePath(path);
+        final String upperMethod = method == null ? "" : method.toUpperCase(Locale.ROOT);
+        for (final CompiledRule rule : rules) {
+            if (rule.matches(upperMethod, pathContainer)) {
+                return rule.decision();
+            }
+        }
+        return defaultDecision;
+    }
+
+    private static CompiledRule compile(final AuditProperties.Rule rule, final int defaultCaptureLimit) {
+        if (rule.getPath() == null || rule.getPath().isBlank()) {
+            throw new IllegalArgumentException("Audit policy rule needs a path");
+        }
+        final Set<String> methods = rule.getMethods() == null ? Set.of() : rule.getMethods().stream()
+                .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        final int captureLimit = rule.getCaptureLimit() == null ? defaultCaptureLimit : Math.max(0, rule.getCaptureLimit());
+        return new CompiledRule(methods, PathPatternParser.defaultInstance.parse(rule.getPath()),
+                decision(rule.getLevel(), rule.getResponseLevel(), captureLimit));
+    }
+
+    private static CompiledRule exclude(final String path) {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("Audit policy exclude needs a path");
+        }
+        return new CompiledRule(Set.of(), PathPatternParser.defaultInstance.parse(path.trim()),
+                decision(AuditLevel.SKIP, AuditLevel.SKIP, 0));
+    }
+
+    private static void checkDigestAlgorithm(final String algorithm) {
+        try {
+            MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported audit digest algorithm " + algorithm, e);
+        }
+    }
+
+    private static AuditDecision decision(final AuditLevel level, final AuditLevel responseLevel, final int captureLimit) {
+        final AuditLevel requestLevel = level == null ? AuditLevel.FULL : level;
+        final AuditLevel resolvedResponseLevel = responseLevel == null ? requestLevel : responseLevel;
+        final boolean needsBody = requestLevel == AuditLevel.FULL || resolvedResponseLevel == AuditLevel.FULL;
+        return new AuditDecision(requestLevel, resolvedResponseLevel, needsBody ? captureLimit : 0);
+    }
+
+    private record CompiledRule(Set<String> methods, PathPattern pattern, AuditDecision decision) {
+
+        private boolean matches(final String method, final PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+    }
+}
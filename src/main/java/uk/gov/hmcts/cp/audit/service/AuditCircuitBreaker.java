@@ -0,0 +1,223 @@
+package uk.gov.hmcts.cp.audit.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fails sends to the broker fast once it is known to be down, so request threads don't wait on it. The outcome of the
+ * last {@code audit.jms.circuit-breaker.sliding-window-size} calls is kept, and the breaker opens when the share of them
+ * that failed, or that took longer than {@code slow-call-duration}, reaches its threshold. After {@code open-duration}
+ * the breaker lets up to {@code half-open-calls} probes through, closing again if they all succeed in time and reopening
+ * on the first that doesn't.
+ * <p>
+ * Every state change is published as an {@link AuditCircuitBreakerEvent}. A disabled breaker runs every call.
+ */
+@Component
+@Slf4j
+public class AuditCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final AuditProperties.CircuitBreaker settings;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final long slowCallNanos;
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder openedCount = new LongAdder();
+
+    private volatile State state = State.CLOSED;
+    private int recordedCalls;
+    private int nextCall;
+    private int failedCount;
+    private int slowCount;
+    private long openUntil;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    @Autowired
+    public AuditCircuitBreaker(final AuditProperties properties, final ApplicationEventPublisher eventPublisher) {
+        this(properties, eventPublisher, Clock.systemUTC());
+    }
+
+    public AuditCircuitBreaker(final AuditProperties properties, final ApplicationEventPublisher eventPublisher, final Clock clock) {
+        this.settings = properties.getJms().getCircuitBreaker();
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.slowCallNanos = settings.getSlowCallDuration().toNanos();
+        final int windowSize = Math.max(1, settings.getSlidingWindowSize());
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Runs {@code call} unless the breaker is open, recording whether it failed and how long it took.
+     *
+     * @throws AuditCircuitOpenException without running the call while the breaker is open
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void run(final Runnable call) {
+        if (!settings.isEnabled()) {
+            call.run();
+            return;
+        }
+        if (!tryAcquire()) {
+            rejectedCount.increment();
+            throw new AuditCircuitOpenException("Audit broker circuit breaker is " + state);
+        }
+        final long start = System.nanoTime();
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            onResult(true, System.nanoTime() - start);
+            throw e;
+        }
+        onResult(false, System.nanoTime() - start);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * The number of calls failed fast because the breaker was open.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getOpenedCount() {
+        return openedCount.sum();
+    }
+
+    /**
+     * The percentage of calls in the sliding window that failed.
+     */
+    public synchronized float getFailureRate() {
+        return recordedCalls == 0 ? 0 : 100f * failedCount / recordedCalls;
+    }
+
+    /**
+     * The percentage of calls in the sliding window that took longer than the slow call duration.
+     */
+    public synchronized float getSlowCallRate() {
+        return recordedCalls == 0 ? 0 : 100f * slowCount / recordedCalls;
+    }
+
+    private boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        final AuditCircuitBreakerEvent event;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN) {
+                if (clock.millis() < openUntil) {
+                    return false;
+                }
+                probesIssued = 0;
+                probesSucceeded = 0;
+                event = transition(State.HALF_OPEN);
+            } else if (probesIssued >= Math.max(1, settings.getHalfOpenCalls())) {
+                return false;
+            } else {
+                event = null;
+            }
+            probesIssued++;
+        }
+        publish(event);
+        return true;
+    }
+
+    private void onResult(final boolean failed, final long nanos) {
+        final boolean slow = nanos > slowCallNanos;
+        final AuditCircuitBreakerEvent event;
+        synchronized (this) {
+            event = state == State.HALF_OPEN ? recordProbe(failed || slow) : recordCall(failed, slow);
+        }
+        publish(event);
+    }
+
+    private AuditCircuitBreakerEvent recordCall(final boolean failed, final boolean slow) {
+        if (state != State.CLOSED) {
+            // A call let through before the breaker opened, its outcome no longer counts
+            return null;
+        }
+        if (recordedCalls == failedCalls.length) {
+            failedCount -= failedCalls[nextCall] ? 1 : 0;
+            slowCount -= slowCalls[nextCall] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextCall] = failed;
+        slowCalls[nextCall] = slow;
+        failedCount += failed ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        nextCall = (nextCall + 1) % failedCalls.length;
+
+        if (recordedCalls < Math.min(Math.max(1, settings.getMinimumCalls()), failedCalls.length)) {
+            return null;
+        }
+        if (failedCount * 100 >= settings.getFailureRateThreshold() * recordedCalls
+                || slowCount * 100 >= settings.getSlowCallRateThreshold() * recordedCalls) {
+            return open();
+        }
+        return null;
+    }
+
+    private AuditCircuitBreakerEvent recordProbe(final boolean failedOrSlow) {
+        if (failedOrSlow) {
+            return open();
+        }
+        probesSucceeded++;
+        if (probesSucceeded < Math.max(1, settings.getHalfOpenCalls())) {
+            return null;
+        }
+        recordedCalls = 0;
+        nextCall = 0;
+        failedCount = 0;
+        slowCount = 0;
+        return transition(State.CLOSED);
+    }
+
+    private AuditCircuitBreakerEvent open() {
+        openUntil = clock.millis() + settings.getOpenDuration().toMillis();
+        openedCount.increment();
+        return transition(State.OPEN);
+    }
+
+    private AuditCircuitBreakerEvent transition(final State to) {
+        final State from = state;
+        state = to;
+        return new AuditCircuitBreakerEvent(from, to, clock.instant());
+    }
+
+    private void publish(final AuditCircuitBreakerEvent event) {
+        if (event == null) {
+            return;
+        }
+        if (event.to() == State.OPEN) {
+            log.warn("Audit broker circuit breaker opened from {}, failing sends fast for {}", event.from(), settings.getOpenDuration());
+        } else {
+            log.info("Audit broker circuit breaker moved from {} to {}", event.from(), event.to());
+        }
+        eventPublisher.publishEvent(event);
+    }
+}
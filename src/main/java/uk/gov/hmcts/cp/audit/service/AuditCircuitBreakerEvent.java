@@ -0,0 +1,13 @@
+package uk.gov.hmcts.cp.audit.service;
+
+import java.time.Instant;
+
+/**
+ * Published as an application event whenever the {@link AuditCircuitBreaker} changes state.
+ */
+public record AuditCircuitBreakerEvent(
+        AuditCircuitBreaker.State from,
+        AuditCircuitBreaker.State to,
+        Instant at
+) {
+}
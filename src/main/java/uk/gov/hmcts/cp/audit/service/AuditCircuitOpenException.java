@@ -0,0 +1,13 @@
+package uk.gov.hmcts.cp.audit.service;
+
+/**
+ * Thrown instead of sending to the broker while the {@link AuditCircuitBreaker} is open.
+ */
+public class AuditCircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AuditCircuitOpenException(final String message) {
+        super(message);
+    }
+}
@@ -1,22 +1,124 @@
 package uk.gov.hmcts.cp.audit.service;
 
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
 import org.springframework.stereotype.Service;
+import uk.gov.hmcts.cp.audit.config.AuditJmsPool;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
+
+import java.util.List;
 
 @Service
 @AllArgsConstructor
 @Slf4j
 public class AuditClient {
 
-    private final JmsTemplate jmsTemplate;
+    /**
+     * Message property naming the codec a compressed message body was encoded with, see {@link AuditMessageDecoder}.
+     */
+    public static final String PROPERTY_CONTENT_ENCODING = "CPPCONTENTENCODING";
+
+    private static final String AUDIT_DESTINATION = "jms.topic.auditing.event";
+    private static final String PROPERTY_NAME = "CPPNAME";
 
+    private final AuditJmsPool jmsPool;
+    private final AuditCircuitBreaker circuitBreaker;
+
+    /**
+     * Every send goes through the {@link AuditCircuitBreaker}, failing with an {@link AuditCircuitOpenException}
+     * without touching the broker while it is open.
+     */
     public void postMessageToArtemis(final String messageName, final String message) {
-        log.info("Posting audit message {} to Artemis", messageName);
-        jmsTemplate.convertAndSend("jms.topic.auditing.event", message, m -> {
-            m.setStringProperty("CPPNAME", messageName);
-            return m;
+        circuitBreaker.run(() -> {
+            log.info("Posting audit message {} to Artemis", messageName);
+            jmsPool.getJmsTemplate().convertAndSend(AUDIT_DESTINATION, message, m -> {
+                m.setStringProperty(PROPERTY_NAME, messageName);
+                return m;
+            });
+        });
+    }
+
+    /**
+     * Sends the first {@code length} bytes of {@code body} as a BytesMessage. The array may be a reusable buffer,
+     * its content is copied into the message before this method returns.
+     */
+    public void postMessageToArtemis(final String messageName, final byte[] body, final int length) {
+        postMessageToArtemis(messageName, body, length, null);
+    }
+
+    /**
+     * As {@link #postMessageToArtemis(String, byte[], int)} for a body compressed with the codec named by
+     * {@code contentEncoding}, which is sent as the {@value #PROPERTY_CONTENT_ENCODING} property when not null.
+     */
+    public void postMessageToArtemis(final String messageName, final byte[] body, final int length, final String contentEncoding) {
+        circuitBreaker.run(() -> {
+            log.info("Posting audit message {} to Artemis", messageName);
+            jmsPool.getJmsTemplate().send(AUDIT_DESTINATION, session -> {
+                final BytesMessage message = session.createBytesMessage();
+                message.writeBytes(body, 0, length);
+                message.setStringProperty(PROPERTY_NAME, messageName);
+                if (contentEncoding != null) {
+                    message.setStringProperty(PROPERTY_CONTENT_ENCODING, contentEncoding);
+                }
+                return message;
+            });
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends all messages on one transacted session so the broker syncs once per batch rather than once per message.
+     * Nothing is delivered unless the whole batch commits.
+     */
+    public void postMessagesToArtemis(final List<AuditMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        circuitBreaker.run(() -> sendBatch(messages));
+    }
+
+    private void sendBatch(final List<AuditMessage> messages) {
+        log.info("Posting batch of {} audit messages to Artemis", messages.size());
+        final JmsTemplate jmsTemplate = jmsPool.getJmsTemplate();
+        try (Connection connection = jmsTemplate.getConnectionFactory().createConnection();
+             Session session = connection.createSession(true, Session.SESSION_TRANSACTED)) {
+            final Destination destination = jmsTemplate.getDestinationResolver()
+                    .resolveDestinationName(session, AUDIT_DESTINATION, jmsTemplate.isPubSubDomain());
+            try (MessageProducer producer = session.createProducer(destination)) {
+                for (final AuditMessage message : messages) {
+                    producer.send(createMessage(session, message));
+                }
+                session.commit();
+            } catch (JMSException e) {
+                JmsUtils.rollbackIfNecessary(session);
+                throw e;
+            }
+        } catch (JMSException e) {
+            throw JmsUtils.convertJmsAccessException(e);
+        }
+    }
+
+    private Message createMessage(final Session session, final AuditMessage auditMessage) throws JMSException {
+        final Message message;
+        if (auditMessage.isBytes()) {
+            final BytesMessage bytesMessage = session.createBytesMessage();
+            bytesMessage.writeBytes(auditMessage.bytes());
+            message = bytesMessage;
+        } else {
+            message = session.createTextMessage(auditMessage.text());
+        }
+        message.setStringProperty(PROPERTY_NAME, auditMessage.name());
+        if (auditMessage.contentEncoding() != null) {
+            message.setStringProperty(PROPERTY_CONTENT_ENCODING, auditMessage.contentEncoding());
+        }
+        return message;
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.hmcts.cp.audit.service;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.TextMessage;
+import uk.gov.hmcts.cp.audit.util.AuditPayloadCodec;
+import uk.gov.hmcts.cp.audit.util.DeflaterPayloadCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the JSON of an audit message for consumers, whichever format it was sent in: a text message, an uncompressed
+ * bytes message, or a bytes message compressed with the codec named by its {@value AuditClient#PROPERTY_CONTENT_ENCODING}
+ * property. A consumer of messages from a custom codec can register it with {@link #AuditMessageDecoder(Map)}.
+ */
+public class AuditMessageDecoder {
+
+    private final Map<String, AuditPayloadCodec> codecs;
+
+    public AuditMessageDecoder() {
+        this(Map.of());
+    }
+
+    public AuditMessageDecoder(final Map<String, AuditPayloadCodec> customCodecs) {
+        final Map<String, AuditPayloadCodec> all = new HashMap<>(Map.of(
+                DeflaterPayloadCodec.GZIP, DeflaterPayloadCodec.gzip(-1),
+                DeflaterPayloadCodec.DEFLATE, DeflaterPayloadCodec.deflate(-1)));
+        all.putAll(customCodecs);
+        this.codecs = Map.copyOf(all);
+    }
+
+    /**
+     * @throws IllegalArgumentException when the message is of another type or names an unknown content encoding
+     */
+    public String decode(final Message message) throws JMSException {
+        if (message instanceof TextMessage textMessage) {
+            return textMessage.getText();
+        }
+        if (!(message instanceof BytesMessage bytesMessage)) {
+            throw new IllegalArgumentException("Unsupported audit message type " + message.getClass().getName());
+        }
+
+        final byte[] body = new byte[(int) bytesMessage.getBodyLength()];
+        bytesMessage.readBytes(body);
+        final String contentEncoding = message.getStringProperty(AuditClient.PROPERTY_CONTENT_ENCODING);
+        if (contentEncoding == null) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+
+        final AuditPayloadCodec codec = codecs.get(contentEncoding);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown audit message content encoding " + contentEncoding);
+        }
+        try {
+            return new String(codec.decode(body, 0, body.length), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + contentEncoding + " audit message", e);
+        }
+    }
+}
@@ -4,62 +4,236 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import lombok.AllArgsConstructor;
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.audit.model.AuditExchange;
 import uk.gov.hmcts.cp.audit.model.AuditMetadata;
 import uk.gov.hmcts.cp.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.audit.model.BodyDescriptor;
+import uk.gov.hmcts.cp.audit.model.RawAuditPayload;
+import uk.gov.hmcts.cp.audit.model.RawJsonContent;
+import uk.gov.hmcts.cp.audit.util.AuditHeaders;
+import uk.gov.hmcts.cp.audit.util.AuditIdGenerator;
+import uk.gov.hmcts.cp.audit.util.AuditTimestampSource;
+import uk.gov.hmcts.cp.audit.util.JsonTokenScanner;
+import uk.gov.hmcts.cp.audit.util.RandomIdGenerator;
 
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import static java.util.UUID.randomUUID;
 import static org.apache.commons.collections.MapUtils.isEmpty;
 import static org.apache.commons.collections.MapUtils.isNotEmpty;
 
 @Service
-@AllArgsConstructor
 public class AuditPayloadGenerationService {
 
+    private static final String COMPONENT_SUFFIX = "-api";
+    private static final String EVENT_NAME = "audit.events.audit-recorded";
     private static final String ATTRIBUTE_PAYLOAD_KEY = "_payload";
     private static final String ATTRIBUTE_METADATA_KEY = "_metadata";
-    private static final String HEADER_USER_ID = "CJSCPPUID";
-    private static final String HEADER_CLIENT_CORRELATION_ID = "CPPCLIENTCORRELATIONID";
+    private static final String ATTRIBUTE_BODY_KEY = "_body";
+    private static final String ATTRIBUTE_REQUEST_KEY = "request";
+    private static final String ATTRIBUTE_RESPONSE_KEY = "response";
+    private static final String ATTRIBUTE_HEADERS_KEY = "headers";
+    private static final String ATTRIBUTE_CONTENT_KEY = "body";
+    private static final List<String> METADATA_MEMBER = List.of(ATTRIBUTE_METADATA_KEY);
 
     private final ObjectMapper objectMapper;
+    private final AuditIdGenerator idGenerator;
+    private final AuditTimestampSource timestampSource;
+
+    public AuditPayloadGenerationService(final ObjectMapper objectMapper) {
+        this(objectMapper, new RandomIdGenerator(), new AuditTimestampSource());
+    }
+
+    @Autowired
+    public AuditPayloadGenerationService(final ObjectMapper objectMapper, final AuditIdGenerator idGenerator, final AuditTimestampSource timestampSource) {
+        this.objectMapper = objectMapper;
+        this.idGenerator = idGenerator;
+        this.timestampSource = timestampSource;
+    }
 
     public AuditPayload generatePayload(final String contextPath, final String payloadBody, final Map<String, String> headers) {
         return generatePayload(contextPath, payloadBody, headers, Map.of(), Map.of());
     }
 
     public AuditPayload generatePayload(final String contextPath, final String payloadBody, final Map<String, String> headers, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        final AuditHeaders auditHeaders = AuditHeaders.from(headers);
         return AuditPayload.builder()
-                .content(constructPayloadWithMetadata(payloadBody, headers, queryParams, pathParams))
+                .content(constructPayload(payloadBody, generateMetadata(auditHeaders), queryParams, pathParams))
                 .timestamp(currentTimestamp())
                 .origin(contextPath)
-                .component(contextPath + "-api")
-                ._metadata(generateMetadata(headers, "audit.events.audit-recorded"))
+                .component(contextPath + COMPONENT_SUFFIX)
+                ._metadata(generateMetadata(auditHeaders, EVENT_NAME))
                 .build();
     }
 
-    private ObjectNode constructPayloadWithMetadata(final String rawJsonString, final Map<String, String> headers, final Map<String, String> queryParams, final Map<String, String> pathParams) {
-        final AuditMetadata metadata = generateMetadata(headers);
+    /**
+     * Variant for a body that wasn't captured, whose descriptor goes under {@code _body} in place of the body fields.
+     */
+    public AuditPayload generatePayload(final String contextPath, final BodyDescriptor body, final Map<String, String> headers,
+                                        final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        final AuditHeaders auditHeaders = AuditHeaders.from(headers);
+        final ObjectNode objectNode = generateContent(body, queryParams, pathParams);
+        addMetadataToNode(generateMetadata(auditHeaders), objectNode);
+        return AuditPayload.builder()
+                .content(objectNode)
+                .timestamp(currentTimestamp())
+                .origin(contextPath)
+                .component(contextPath + COMPONENT_SUFFIX)
+                ._metadata(generateMetadata(auditHeaders, EVENT_NAME))
+                .build();
+    }
 
-        try {
-            final JsonNode node = objectMapper.readTree(rawJsonString);
-            final ObjectNode objectNode = createObjectNode(node, rawJsonString);
+    /**
+     * Raw passthrough variant: a body that is valid JSON is embedded verbatim instead of being parsed into a tree.
+     * Bodies in a charset other than UTF-8 that aren't plain ASCII can't be embedded as-is and take the tree path.
+     */
+    public AuditEvent generatePayload(final String contextPath, final byte[] payloadBody, final String characterEncoding,
+                                      final Map<String, String> headers, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        final Charset charset = characterEncoding == null ? StandardCharsets.UTF_8 : Charset.forName(characterEncoding);
+        if (!isUtf8Compatible(charset) && !JsonTokenScanner.isAscii(payloadBody, 0, payloadBody.length)) {
+            return generatePayload(contextPath, new String(payloadBody, charset), headers, queryParams, pathParams);
+        }
+
+        final JsonTokenScanner.Shape shape = JsonTokenScanner.scan(payloadBody, 0, payloadBody.length);
+        final Map<String, String> params = mergeParams(queryParams, pathParams);
+        if (collidesWithBody(payloadBody, shape, params, true)) {
+            return generatePayload(contextPath, new String(payloadBody, charset), headers, queryParams, pathParams);
+        }
+        final AuditHeaders auditHeaders = AuditHeaders.from(headers);
+        return RawAuditPayload.builder()
+                .content(new RawJsonContent(payloadBody, shape, params, generateMetadata(auditHeaders)))
+                .timestamp(currentTimestamp())
+                .origin(contextPath)
+                .component(contextPath + COMPONENT_SUFFIX)
+                ._metadata(generateMetadata(auditHeaders, EVENT_NAME))
+                .build();
+    }
+
+    /**
+     * The content of one half of an exchange: the body with its parameters as {@code generatePayload} builds it, but
+     * without metadata, which the exchange event carries once for both halves.
+     */
+    public ObjectNode generateContent(final String payloadBody, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        return constructPayload(payloadBody, null, queryParams, pathParams);
+    }
+
+    public ObjectNode generateContent(final BodyDescriptor body, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        final ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.putPOJO(ATTRIBUTE_BODY_KEY, body);
+        addParamsToNode(queryParams, pathParams, objectNode);
+        return objectNode;
+    }
+
+    public Object generateContent(final byte[] payloadBody, final String characterEncoding,
+                                  final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        final Charset charset = characterEncoding == null ? StandardCharsets.UTF_8 : Charset.forName(characterEncoding);
+        if (!isUtf8Compatible(charset) && !JsonTokenScanner.isAscii(payloadBody, 0, payloadBody.length)) {
+            return generateContent(new String(payloadBody, charset), queryParams, pathParams);
+        }
+        final JsonTokenScanner.Shape shape = JsonTokenScanner.scan(payloadBody, 0, payloadBody.length);
+        final Map<String, String> params = mergeParams(queryParams, pathParams);
+        if (collidesWithBody(payloadBody, shape, params, false)) {
+            return generateContent(new String(payloadBody, charset), queryParams, pathParams);
+        }
+        return new RawJsonContent(payloadBody, shape, params, null);
+    }
+
+    /**
+     * Combines the request and response contents of one exchange into a single event, so it is serialized and sent
+     * once. They are nested unchanged under {@code request.body} and {@code response.body}, next to the headers of
+     * each, the response {@code status} and the {@code durationMillis} the application took. The metadata is generated
+     * once, for the exchange event.
+     */
+    public AuditPayload generateExchangePayload(final String contextPath, final AuditExchange exchange, final Map<String, String> headers) {
+        final AuditHeaders auditHeaders = AuditHeaders.from(headers);
+        final ObjectNode objectNode = objectMapper.createObjectNode();
+        final ObjectNode request = objectNode.putObject(ATTRIBUTE_REQUEST_KEY);
+        addHeadersToNode(exchange.requestHeaders(), request);
+        addContentToNode(exchange.request(), request);
+        final ObjectNode response = objectNode.putObject(ATTRIBUTE_RESPONSE_KEY);
+        response.put("status", exchange.status());
+        addHeadersToNode(exchange.responseHeaders(), response);
+        addContentToNode(exchange.response(), response);
+        if (exchange.duration() != null) {
+            objectNode.put("durationMillis", exchange.duration().toMillis());
+        }
+        return AuditPayload.builder()
+                .content(objectNode)
+                .timestamp(currentTimestamp())
+                .origin(contextPath)
+                .component(contextPath + COMPONENT_SUFFIX)
+                ._metadata(generateMetadata(auditHeaders, EVENT_NAME))
+                .build();
+    }
 
-            if (isNotEmpty(queryParams)) {
-                queryParams.forEach((key, value) -> objectNode.set(key, objectMapper.convertValue(value, JsonNode.class)));
-            }
+    private void addHeadersToNode(final Map<String, String> headers, final ObjectNode objectNode) {
+        if (isNotEmpty(headers)) {
+            final ObjectNode headersNode = objectNode.putObject(ATTRIBUTE_HEADERS_KEY);
+            headers.forEach(headersNode::put);
+        }
+    }
 
-            if (isNotEmpty(pathParams)) {
-                pathParams.forEach((key, value) -> objectNode.set(key, objectMapper.convertValue(value, JsonNode.class)));
-            }
+    private void addContentToNode(final Object content, final ObjectNode objectNode) {
+        if (content instanceof JsonNode node) {
+            objectNode.set(ATTRIBUTE_CONTENT_KEY, node);
+        } else if (content != null) {
+            // Raw content writes itself when the event is serialized
+            objectNode.putPOJO(ATTRIBUTE_CONTENT_KEY, content);
+        }
+    }
 
+    private boolean isUtf8Compatible(final Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+    }
+
+    /**
+     * The tree overwrites members of an object body named like a parameter or {@code _metadata}. Raw content can't
+     * drop them from the copied bytes, so such a body takes the tree path instead of producing duplicate keys.
+     */
+    private boolean collidesWithBody(final byte[] body, final JsonTokenScanner.Shape shape, final Map<String, String> params,
+                                     final boolean withMetadata) {
+        if (shape != JsonTokenScanner.Shape.OBJECT) {
+            return false;
+        }
+        if (isEmpty(params)) {
+            return withMetadata && JsonTokenScanner.hasMember(body, 0, body.length, METADATA_MEMBER);
+        }
+        final List<String> names = new ArrayList<>(params.keySet());
+        if (withMetadata) {
+            names.add(ATTRIBUTE_METADATA_KEY);
+        }
+        return JsonTokenScanner.hasMember(body, 0, body.length, names);
+    }
+
+    private Map<String, String> mergeParams(final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        if (isEmpty(pathParams)) {
+            return queryParams;
+        }
+        if (isEmpty(queryParams)) {
+            return pathParams;
+        }
+        // Path parameters win over query parameters of the same name, as they do in the tree
+        final Map<String, String> merged = new LinkedHashMap<>(queryParams);
+        merged.putAll(pathParams);
+        return merged;
+    }
+
+    /**
+     * @param metadata the content metadata, null for content without it
+     */
+    private ObjectNode constructPayload(final String rawJsonString, final AuditMetadata metadata, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        try {
+            final JsonNode node = objectMapper.readTree(rawJsonString);
+            final ObjectNode objectNode = createObjectNode(node, rawJsonString);
+            addParamsToNode(queryParams, pathParams, objectNode);
             addMetadataToNode(metadata, objectNode);
             return objectNode;
         } catch (JsonProcessingException e) {
@@ -67,6 +241,16 @@ public class AuditPayloadGenerationService {
         }
     }
 
+    private void addParamsToNode(final Map<String, String> queryParams, final Map<String, String> pathParams, final ObjectNode objectNode) {
+        if (isNotEmpty(queryParams)) {
+            queryParams.forEach((key, value) -> objectNode.set(key, objectMapper.convertValue(value, JsonNode.class)));
+        }
+
+        if (isNotEmpty(pathParams)) {
+            pathParams.forEach((key, value) -> objectNode.set(key, objectMapper.convertValue(value, JsonNode.class)));
+        }
+    }
+
     private ObjectNode createObjectNode(final JsonNode node, final String rawJsonString) {
         if (node == null) {
             return objectMapper.createObjectNode();
@@ -83,7 +267,8 @@ public class AuditPayloadGenerationService {
             return AuditMetadata.builder().build();
         }
 
-        return generateMetadata(headers, getHeaderMatchingKey(headers, "Accept", "Content-Type"));
+        final AuditHeaders auditHeaders = AuditHeaders.from(headers);
+        return generateMetadata(auditHeaders, auditHeaders.getAccept() != null ? auditHeaders.getAccept() : auditHeaders.getContentType());
     }
 
     private AuditMetadata generateMetadata(final Map<String, String> headers, final String methodName) {
@@ -92,17 +277,17 @@ public class AuditPayloadGenerationService {
         }
 
         final AuditMetadata.AuditMetadataBuilder metadataBuilder = AuditMetadata.builder()
-                .id(randomUUID())
+                .id(idGenerator.nextId())
                 .name(methodName)
                 .createdAt(currentTimestamp());
 
-        setOptionalMetadata(headers, metadataBuilder);
+        setOptionalMetadata(AuditHeaders.from(headers), metadataBuilder);
         return metadataBuilder.build();
     }
 
-    private void setOptionalMetadata(final Map<String, String> headers, final AuditMetadata.AuditMetadataBuilder metadataBuilder) {
-        final String userId = getHeaderMatchingKey(headers, HEADER_USER_ID);
-        final String clientCorrelationId = getHeaderMatchingKey(headers, HEADER_CLIENT_CORRELATION_ID);
+    private void setOptionalMetadata(final AuditHeaders headers, final AuditMetadata.AuditMetadataBuilder metadataBuilder) {
+        final String userId = headers.getUserId();
+        final String clientCorrelationId = headers.getClientCorrelationId();
 
         if (null != userId) {
             metadataBuilder.context(Optional.of(new AuditMetadata.Context(userId)));
@@ -112,22 +297,6 @@ public class AuditPayloadGenerationService {
         }
     }
 
-    private String getHeaderMatchingKey(final Map<String, String> headers, final String... keys) {
-        for (final String searchKey : keys) {
-            if (StringUtils.isBlank(searchKey)) {
-                continue;
-            }
-
-            for (final Map.Entry<String, String> entry : headers.entrySet()) {
-                if (entry.getKey() != null && entry.getKey().trim().equalsIgnoreCase(searchKey.trim())) {
-                    return entry.getValue();
-                }
-            }
-
-        }
-        return null;
-    }
-
     private ObjectNode createPayloadWithMetadata(final String rawJsonString, final AuditMetadata metadata) {
         final ObjectNode objectNode = objectMapper.createObjectNode();
         objectNode.put(ATTRIBUTE_PAYLOAD_KEY, rawJsonString);
@@ -135,11 +304,17 @@ public class AuditPayloadGenerationService {
         return objectNode;
     }
 
+    /**
+     * The metadata is embedded as a POJO node and written by the serializer, rather than being converted into a
+     * second tree with {@code valueToTree}.
+     */
     private void addMetadataToNode(final AuditMetadata metadata, final ObjectNode objectNode) {
-        objectNode.set(ATTRIBUTE_METADATA_KEY, objectMapper.valueToTree(metadata));
+        if (metadata != null) {
+            objectNode.putPOJO(ATTRIBUTE_METADATA_KEY, metadata);
+        }
     }
 
     private String currentTimestamp() {
-        return ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS).toString();
+        return timestampSource.currentTimestamp();
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package uk.gov.hmcts.cp.audit.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands audit payloads to {@link AuditService}. By default this happens on the calling thread; when
+ * {@code audit.async.enabled} is set the payload is queued and sent by a pool of publisher workers instead. With
+ * {@code audit.jms.enabled} off payloads are discarded before they are serialized.
+ */
+@Service
+@Slf4j
+public class AuditPublisher {
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final AuditService auditService;
+    private final AuditProperties.Async settings;
+    private final AuditProperties.Batch batchSettings;
+    private final boolean jmsEnabled;
+    private final BlockingQueue<AuditEvent> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder publishedCount = new LongAdder();
+
+    private volatile boolean running;
+
+    @SuppressWarnings("PMD.NullAssignment")
+    public AuditPublisher(final AuditService auditService, final AuditProperties properties) {
+        this.auditService = auditService;
+        this.settings = properties.getAsync();
+        this.batchSettings = properties.getJms().getBatch();
+        this.jmsEnabled = properties.getJms().isEnabled();
+        this.queue = jmsEnabled && settings.isEnabled() ? new ArrayBlockingQueue<>(settings.getQueueCapacity()) : null;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!jmsEnabled) {
+            log.info("audit.jms.enabled is off, audit events are not sent");
+            return;
+        }
+        if (batchSettings.isEnabled() && !settings.isEnabled()) {
+            log.warn("audit.jms.batch.enabled has no effect unless audit.async.enabled is set");
+        }
+        if (!settings.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < Math.max(1, settings.getWorkers()); i++) {
+            final Thread worker = Thread.ofPlatform().name("audit-publisher-" + i).daemon().unstarted(this::drainQueue);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("Started {} audit publisher workers with queue capacity {} and overflow policy {}",
+                workers.size(), settings.getQueueCapacity(), settings.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        final long deadline = System.nanoTime() + settings.getShutdownTimeout().toNanos();
+        for (final Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        if (!queue.isEmpty()) {
+            log.warn("Audit publisher stopped with {} events still queued", queue.size());
+        }
+    }
+
+    public void publish(final AuditEvent auditPayload) {
+        if (!jmsEnabled) {
+            return;
+        }
+        if (!settings.isEnabled()) {
+            auditService.postMessageToArtemis(auditPayload);
+            publishedCount.increment();
+            return;
+        }
+        if (null == auditPayload) {
+            log.warn("AuditPayload is null");
+            return;
+        }
+
+        if (!enqueue(auditPayload)) {
+            droppedCount.increment();
+            log.warn("Audit queue is full, dropped audit message with ID {}", auditPayload._metadata() != null ? auditPayload._metadata().id() : null);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    private boolean enqueue(final AuditEvent auditPayload) {
+        switch (settings.getOverflowPolicy()) {
+            case DROP_NEWEST:
+                return queue.offer(auditPayload);
+            case DROP_OLDEST:
+                while (!queue.offer(auditPayload)) {
+                    if (queue.poll() != null) {
+                        droppedCount.increment();
+                    }
+                }
+                return true;
+            case BLOCK:
+            default:
+                try {
+                    return queue.offer(auditPayload, settings.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+        }
+    }
+
+    private void drainQueue() {
+        while (running || !queue.isEmpty()) {
+            try {
+                final AuditEvent auditPayload = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (auditPayload == null) {
+                    continue;
+                }
+                if (batchSettings.isEnabled()) {
+                    send(collectBatch(auditPayload));
+                } else {
+                    send(auditPayload);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gathers up to {@code maxSize} events, waiting no longer than {@code maxWait} after the first one arrived.
+     */
+    private List<AuditEvent> collectBatch(final AuditEvent first) throws InterruptedException {
+        final int maxSize = Math.max(1, batchSettings.getMaxSize());
+        final List<AuditEvent> batch = new ArrayList<>(maxSize);
+        batch.add(first);
+        queue.drainTo(batch, maxSize - batch.size());
+
+        final long deadline = System.nanoTime() + batchSettings.getMaxWait().toNanos();
+        while (batch.size() < maxSize) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            final AuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxSize - batch.size());
+        }
+        return batch;
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void send(final AuditEvent auditPayload) {
+        try {
+            auditService.postMessageToArtemis(auditPayload);
+            publishedCount.increment();
+        } catch (RuntimeException e) {
+            // A broker failure must not kill the worker, the next event may well succeed
+            log.error("Failed to publish audit message to Artemis: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void send(final List<AuditEvent> batch) {
+        try {
+            auditService.postMessagesToArtemis(batch);
+            publishedCount.add(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to publish batch of {} audit messages to Artemis: {}", batch.size(), e.getMessage());
+        }
+    }
+}
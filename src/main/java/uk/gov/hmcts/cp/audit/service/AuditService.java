@@ -1,40 +1,294 @@
 package uk.gov.hmcts.cp.audit.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import uk.gov.hmcts.cp.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.journal.AuditSpillJournal;
+import uk.gov.hmcts.cp.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.audit.util.AuditPayloadCodec;
+import uk.gov.hmcts.cp.audit.util.DeflaterPayloadCodec;
+import uk.gov.hmcts.cp.audit.util.ReusableByteArrayOutputStream;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 @Service
-@AllArgsConstructor
 @Slf4j
 public class AuditService {
 
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+    /** The first chars UTF-8 encodes in two and in three bytes. */
+    private static final char TWO_BYTE_CHARS = 0x80;
+    private static final char THREE_BYTE_CHARS = 0x800;
+    private static final ThreadLocal<ReusableByteArrayOutputStream> BUFFERS =
+            ThreadLocal.withInitial(() -> new ReusableByteArrayOutputStream(INITIAL_BUFFER_SIZE, MAX_RETAINED_BUFFER_SIZE));
+    private static final ThreadLocal<ReusableByteArrayOutputStream> COMPRESSED_BUFFERS =
+            ThreadLocal.withInitial(() -> new ReusableByteArrayOutputStream(INITIAL_BUFFER_SIZE, MAX_RETAINED_BUFFER_SIZE));
+
     private final ObjectMapper objectMapper;
     private final AuditClient client;
+    private final boolean bytesMessages;
+    private final AuditPayloadCodec codec;
+    private final int compressionThreshold;
+    private final AuditSpillJournal spillJournal;
+    private final AuditProperties.Fallback fallbackMode;
+    private final LongAdder droppedCount = new LongAdder();
+    private final AuditMetrics metrics;
+
+    public AuditService(final ObjectMapper objectMapper, final AuditClient client, final AuditProperties properties) {
+        this(objectMapper, client, properties, DeflaterPayloadCodec.gzip(properties.getJms().getCompression().getLevel()),
+                new AuditSpillJournal(client, properties), AuditMetrics.NOOP);
+    }
+
+    @Autowired
+    @SuppressWarnings("PMD.NullAssignment")
+    public AuditService(final ObjectMapper objectMapper, final AuditClient client, final AuditProperties properties,
+                        final AuditPayloadCodec codec, final AuditSpillJournal spillJournal, final AuditMetrics metrics) {
+        this.objectMapper = objectMapper;
+        this.client = client;
+        this.spillJournal = spillJournal;
+        this.metrics = metrics;
+        this.bytesMessages = properties.getJms().getMessageFormat() == AuditProperties.MessageFormat.BYTES;
+        final AuditProperties.Compression compression = properties.getJms().getCompression();
+        this.codec = compression.isEnabled() ? codec : null;
+        this.compressionThreshold = compression.getThreshold();
+        final AuditProperties.CircuitBreaker circuitBreaker = properties.getJms().getCircuitBreaker();
+        this.fallbackMode = circuitBreaker.isEnabled() ? circuitBreaker.getFallback() : null;
+    }
+
+    /**
+     * The number of audit messages dropped by the {@link AuditProperties.Fallback#DROP DROP} fallback.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
 
-    public void postMessageToArtemis(final AuditPayload auditPayload) {
+    public void postMessageToArtemis(final AuditEvent auditPayload) {
         if (null == auditPayload) {
             log.warn("AuditPayload is null");
             return;
         }
 
         try {
-            final String valueAsString = objectMapper.writeValueAsString(auditPayload);
-            log.info("Posting audit message to Artemis with ID = {} and timestamp = {}", auditPayload._metadata().id(), auditPayload.timestamp());
-            client.postMessageToArtemis(auditPayload._metadata().name(), valueAsString);
-        } catch (JsonProcessingException e) {
+            if (bytesMessages || codec != null) {
+                postBytesMessage(auditPayload);
+            } else {
+                final long start = System.nanoTime();
+                final String valueAsString = objectMapper.writeValueAsString(auditPayload);
+                metrics.recordSerialization(System.nanoTime() - start, metrics.isEnabled() ? utf8Length(valueAsString) : 0, null);
+                log.info("Posting audit message to Artemis with ID = {} and timestamp = {}", auditPayload._metadata().id(), auditPayload.timestamp());
+                final String name = auditPayload._metadata().name();
+                deliver(() -> client.postMessageToArtemis(name, valueAsString), () -> spillJournal.spill(name, valueAsString),
+                        () -> summary(auditPayload, utf8Length(valueAsString), null));
+            }
+        } catch (IOException e) {
             // Log the error but don't re-throw to avoid breaking the main request flow
-            final UUID auditMetadataId = (auditPayload._metadata() != null) ? auditPayload._metadata().id() : null;
-            if (auditMetadataId != null) {
-                log.error("Failed to post audit message with ID {} to Artemis", auditMetadataId);
+            logSerializationFailure(auditPayload);
+        }
+    }
+
+    public void postMessagesToArtemis(final List<AuditEvent> auditPayloads) {
+        final List<AuditMessage> messages = new ArrayList<>(auditPayloads.size());
+        for (final AuditEvent auditPayload : auditPayloads) {
+            try {
+                messages.add(toMessage(auditPayload));
+            } catch (IOException e) {
+                // Drop only the payload that can't be serialized, the rest of the batch is still sent
+                logSerializationFailure(auditPayload);
+            }
+        }
+        deliver(() -> client.postMessagesToArtemis(messages), () -> spillJournal.spill(messages),
+                () -> "batch of " + messages.size() + " messages");
+    }
+
+    /**
+     * Streams the payload straight into this thread's reusable buffer and sends it from there,
+     * so no String (or exact-size byte array) is built for the message. A payload over the compression threshold is
+     * encoded into a second per-thread buffer and sent from that instead.
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    private void postBytesMessage(final AuditEvent auditPayload) throws IOException {
+        final String name = auditPayload._metadata().name();
+        final ReusableByteArrayOutputStream buffer = BUFFERS.get();
+        try {
+            final long start = System.nanoTime();
+            objectMapper.writeValue(buffer, auditPayload);
+            log.info("Posting audit message to Artemis with ID = {} and timestamp = {}", auditPayload._metadata().id(), auditPayload.timestamp());
+            if (isCompressed(buffer)) {
+                final ReusableByteArrayOutputStream compressed = COMPRESSED_BUFFERS.get();
+                try {
+                    codec.encode(buffer.array(), 0, buffer.size(), compressed);
+                    metrics.recordSerialization(System.nanoTime() - start, compressed.size(), codec.contentEncoding());
+                    deliver(() -> client.postMessageToArtemis(name, compressed.array(), compressed.size(), codec.contentEncoding()),
+                            () -> spillJournal.spill(name, compressed.array(), compressed.size(), codec.contentEncoding()),
+                            () -> summary(auditPayload, compressed.size(), codec.contentEncoding()));
+                } finally {
+                    compressed.reset();
+                }
+            } else if (bytesMessages) {
+                metrics.recordSerialization(System.nanoTime() - start, buffer.size(), null);
+                deliver(() -> client.postMessageToArtemis(name, buffer.array(), buffer.size()),
+                        () -> spillJournal.spill(name, buffer.array(), buffer.size(), null),
+                        () -> summary(auditPayload, buffer.size(), null));
             } else {
-                log.error("Failed to post audit message to Artemis");
+                final String text = new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8);
+                metrics.recordSerialization(System.nanoTime() - start, buffer.size(), null);
+                deliver(() -> client.postMessageToArtemis(name, text), () -> spillJournal.spill(name, text),
+                        () -> summary(auditPayload, buffer.size(), null));
+            }
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    private AuditMessage toMessage(final AuditEvent auditPayload) throws IOException {
+        final long start = System.nanoTime();
+        final AuditMessage message = serialize(auditPayload);
+        if (metrics.isEnabled()) {
+            metrics.recordSerialization(System.nanoTime() - start, message.isBytes() ? message.bytes().length : utf8Length(message.text()),
+                    message.contentEncoding());
+        }
+        return message;
+    }
+
+    @SuppressWarnings("PMD.CloseResource")
+    private AuditMessage serialize(final AuditEvent auditPayload) throws IOException {
+        if (!bytesMessages && codec == null) {
+            final String text = objectMapper.writeValueAsString(auditPayload);
+            return AuditMessage.text(messageName(auditPayload), text);
+        }
+
+        // A batch outlives the per-thread buffer, so each message keeps its own exact-size copy
+        final ReusableByteArrayOutputStream buffer = BUFFERS.get();
+        try {
+            objectMapper.writeValue(buffer, auditPayload);
+            final String name = messageName(auditPayload);
+            if (isCompressed(buffer)) {
+                final ReusableByteArrayOutputStream compressed = COMPRESSED_BUFFERS.get();
+                try {
+                    codec.encode(buffer.array(), 0, buffer.size(), compressed);
+                    return AuditMessage.encoded(name, compressed.toByteArray(), codec.contentEncoding());
+                } finally {
+                    compressed.reset();
+                }
+            }
+            return bytesMessages
+                    ? AuditMessage.bytes(name, buffer.toByteArray())
+                    : AuditMessage.text(name, new String(buffer.array(), 0, buffer.size(), StandardCharsets.UTF_8));
+        } finally {
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Sends through the broker unless it is degraded, keeping the message in the spill journal instead when the broker
+     * is bypassed or the send fails. Without a journal to take the message a failure propagates as before, unless the
+     * circuit breaker is enabled, in which case a failed or rejected message is handed to its fallback.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void deliver(final Runnable send, final BooleanSupplier spill, final Supplier<String> summary) {
+        if (spillJournal.isBypassing() && spill.getAsBoolean()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            send.run();
+        } catch (AuditCircuitOpenException e) {
+            metrics.recordSend(System.nanoTime() - start, true);
+            handleFailure(e, spill, summary);
+            return;
+        } catch (RuntimeException e) {
+            metrics.recordSend(System.nanoTime() - start, true);
+            spillJournal.recordFailure(e);
+            handleFailure(e, spill, summary);
+            return;
+        }
+        final long nanos = System.nanoTime() - start;
+        metrics.recordSend(nanos, false);
+        spillJournal.recordLatency(nanos);
+    }
+
+    private void handleFailure(final RuntimeException failure, final BooleanSupplier spill,
+                               final Supplier<String> summary) {
+        if (fallbackMode != null) {
+            fallBack(spill, summary);
+            return;
+        }
+        if (!spill.getAsBoolean()) {
+            throw failure;
+        }
+        log.warn("Journalled audit message the broker failed to take");
+    }
+
+    private void fallBack(final BooleanSupplier spill, final Supplier<String> summary) {
+        switch (fallbackMode) {
+            case DROP -> droppedCount.increment();
+            case SINK -> {
+                if (!spill.getAsBoolean()) {
+                    log.warn("Audit broker unavailable and journal can't take message: {}", summary.get());
+                }
+            }
+            default -> log.warn("Audit broker unavailable, message not sent: {}", summary.get());
+        }
+    }
+
+    /**
+     * The size of a text message once encoded as UTF-8, as the broker holds it, counted without encoding it.
+     */
+    static int utf8Length(final String text) {
+        int length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c >= THREE_BYTE_CHARS) {
+                // Three bytes, or four for a surrogate pair, which is already two chars
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= TWO_BYTE_CHARS) {
+                length++;
             }
         }
+        return length;
+    }
+
+    private static String summary(final AuditEvent auditPayload, final int size, final String contentEncoding) {
+        return "name=" + auditPayload._metadata().name()
+                + " id=" + auditPayload._metadata().id()
+                + " timestamp=" + auditPayload.timestamp()
+                + " size=" + size
+                + (contentEncoding == null ? "" : " encoding=" + contentEncoding);
+    }
+
+    /**
+     * A payload without metadata has no name to send it under, so it is dropped like one that can't be serialized.
+     */
+    private static String messageName(final AuditEvent auditPayload) throws IOException {
+        if (auditPayload._metadata() == null) {
+            throw new IOException("Audit payload has no metadata");
+        }
+        return auditPayload._metadata().name();
+    }
+
+    private boolean isCompressed(final ReusableByteArrayOutputStream buffer) {
+        return codec != null && buffer.size() >= compressionThreshold;
+    }
+
+    private void logSerializationFailure(final AuditEvent auditPayload) {
+        metrics.recordSerializationFailure();
+        final UUID auditMetadataId = (auditPayload._metadata() != null) ? auditPayload._metadata().id() : null;
+        if (auditMetadataId != null) {
+            log.error("Failed to post audit message with ID {} to Artemis", auditMetadataId);
+        } else {
+            log.error("Failed to post audit message to Artemis");
+        }
     }
-}
\ No newline at end of file
+}
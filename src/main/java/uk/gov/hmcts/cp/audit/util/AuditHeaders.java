@@ -0,0 +1,165 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Read-only view of the headers of a request. The headers the audit metadata needs are resolved once, case-insensitively,
+ * and the full header map is only built if something iterates it, rather than being copied for every request.
+ * Like the servlet API, a view over a request matches header names case-insensitively, before and after the map is built.
+ * <p>
+ * A view over a servlet request reads from the request, so it must not be used once the request has completed and isn't
+ * safe to share between threads.
+ */
+public final class AuditHeaders extends AbstractMap<String, String> {
+
+    public static final String ACCEPT = "Accept";
+    public static final String CONTENT_TYPE = "Content-Type";
+    public static final String USER_ID = "CJSCPPUID";
+    public static final String CLIENT_CORRELATION_ID = "CPPCLIENTCORRELATIONID";
+
+    private static final String[] WELL_KNOWN = {ACCEPT, CONTENT_TYPE, USER_ID, CLIENT_CORRELATION_ID};
+    private static final AuditHeaders EMPTY = new AuditHeaders(null, Map.of());
+
+    private final HttpServletRequest request;
+    private Map<String, String> headers;
+    private Enumeration<String> pendingNames;
+    private String[] wellKnownValues;
+    private int resolvedWellKnown;
+
+    private AuditHeaders(final HttpServletRequest request, final Map<String, String> headers) {
+        this.request = request;
+        this.headers = headers;
+    }
+
+    public static AuditHeaders of(final HttpServletRequest request) {
+        return new AuditHeaders(request, null);
+    }
+
+    /**
+     * Views a plain header map, matching the well-known headers by trimmed, case-insensitive name as the first matching
+     * entry in iteration order.
+     */
+    public static AuditHeaders from(final Map<String, String> headers) {
+        if (headers instanceof AuditHeaders auditHeaders) {
+            return auditHeaders;
+        }
+        return headers == null || headers.isEmpty() ? EMPTY : new AuditHeaders(null, headers);
+    }
+
+    public String getAccept() {
+        return wellKnown(0);
+    }
+
+    public String getContentType() {
+        return wellKnown(1);
+    }
+
+    public String getUserId() {
+        return wellKnown(2);
+    }
+
+    public String getClientCorrelationId() {
+        return wellKnown(3);
+    }
+
+    @Override
+    public String get(final Object key) {
+        if (request == null) {
+            return headers.get(key);
+        }
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        return headers == null ? request.getHeader(name) : headers.get(name);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (request == null) {
+            return headers.containsKey(key);
+        }
+        if (!(key instanceof String name)) {
+            return false;
+        }
+        return headers == null ? request.getHeader(name) != null : headers.containsKey(name);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (headers == null) {
+            return !headerNames().hasMoreElements();
+        }
+        return headers.isEmpty();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    private Map<String, String> materialize() {
+        if (headers == null) {
+            final Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            final Enumeration<String> names = headerNames();
+            while (names.hasMoreElements()) {
+                final String name = names.nextElement();
+                copy.put(name, request.getHeader(name));
+            }
+            headers = copy;
+        }
+        return headers;
+    }
+
+    /**
+     * The request's header names are read once, by whichever of {@link #isEmpty()} and the full map needs them first.
+     */
+    private Enumeration<String> headerNames() {
+        if (pendingNames == null) {
+            final Enumeration<String> names = request.getHeaderNames();
+            pendingNames = names == null ? Collections.emptyEnumeration() : names;
+        }
+        return pendingNames;
+    }
+
+    /**
+     * A request header is only looked up the first time it is asked for. The well-known headers of a plain map are
+     * all found in one pass over it.
+     */
+    private String wellKnown(final int index) {
+        if (wellKnownValues == null) {
+            wellKnownValues = new String[WELL_KNOWN.length];
+            if (request == null) {
+                for (final Entry<String, String> entry : headers.entrySet()) {
+                    resolveWellKnown(entry, wellKnownValues);
+                }
+                resolvedWellKnown = (1 << WELL_KNOWN.length) - 1;
+            }
+        }
+        final int bit = 1 << index;
+        if ((resolvedWellKnown & bit) == 0) {
+            wellKnownValues[index] = request.getHeader(WELL_KNOWN[index]);
+            resolvedWellKnown |= bit;
+        }
+        return wellKnownValues[index];
+    }
+
+    private static void resolveWellKnown(final Entry<String, String> entry, final String[] values) {
+        if (entry.getKey() == null) {
+            return;
+        }
+        final String name = entry.getKey().trim();
+        for (int i = 0; i < WELL_KNOWN.length; i++) {
+            if (values[i] == null && name.equalsIgnoreCase(WELL_KNOWN[i])) {
+                values[i] = entry.getValue();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.util.UUID;
+
+/**
+ * Source of audit metadata ids, selected with {@code audit.metadata.id-generator}. A service can supply its own by
+ * declaring a {@code @Primary} bean of this type.
+ */
+@FunctionalInterface
+public interface AuditIdGenerator {
+
+    UUID nextId();
+}
@@ -0,0 +1,23 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Compresses serialized audit events, selected with {@code audit.jms.compression.codec}. A service can supply its own
+ * by declaring a {@code @Primary} bean of this type, consumers then need a matching decoder for its content encoding.
+ */
+public interface AuditPayloadCodec {
+
+    /**
+     * Value of the {@code CPPCONTENTENCODING} property on messages encoded by this codec, e.g. {@code gzip}.
+     */
+    String contentEncoding();
+
+    /**
+     * Writes the encoded form of {@code length} bytes of {@code body} from {@code offset} to {@code out}.
+     */
+    void encode(byte[] body, int offset, int length, OutputStream out) throws IOException;
+
+    byte[] decode(byte[] body, int offset, int length) throws IOException;
+}
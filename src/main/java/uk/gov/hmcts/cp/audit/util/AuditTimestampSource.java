@@ -0,0 +1,43 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * UTC timestamps truncated to the millisecond, in the {@link ZonedDateTime#toString()} form the audit payloads have
+ * always used. The formatted value is cached and shared between threads, so it is built at most once per millisecond
+ * however many events are generated.
+ */
+@Component
+public class AuditTimestampSource {
+
+    private final Clock clock;
+    private volatile CachedTimestamp cached = new CachedTimestamp(Long.MIN_VALUE, null);
+
+    public AuditTimestampSource() {
+        this(Clock.systemUTC());
+    }
+
+    public AuditTimestampSource(final Clock clock) {
+        this.clock = clock;
+    }
+
+    public String currentTimestamp() {
+        final long millis = clock.millis();
+        final CachedTimestamp current = cached;
+        if (current.millis() == millis) {
+            return current.formatted();
+        }
+        final String formatted = ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC).toString();
+        // Racing threads format the same value, whichever write lands last is as good as any other
+        cached = new CachedTimestamp(millis, formatted);
+        return formatted;
+    }
+
+    private record CachedTimestamp(long millis, String formatted) {
+    }
+}
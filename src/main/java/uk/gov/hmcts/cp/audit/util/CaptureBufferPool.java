@@ -0,0 +1,127 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of reusable body capture buffers in size classes growing by a factor of four from 4 KB up to the
+ * configured maximum buffer size, raised to the largest capture limit of the audit policy so that every captured body
+ * fits a pooled buffer. Requests larger than the biggest class are served with an unpooled buffer.
+ * Buffers are heap or direct depending on {@code audit.capture.buffers.direct}.
+ */
+@Component
+public class CaptureBufferPool {
+
+    private static final int SMALLEST_CLASS = 4 * 1024;
+
+    private final int[] sizeClasses;
+    private final BlockingQueue<ByteBuffer>[] pools;
+    private final boolean direct;
+    private final LongAdder allocatedCount = new LongAdder();
+    private final LongAdder reusedCount = new LongAdder();
+
+    public CaptureBufferPool(final AuditProperties properties) {
+        final AuditProperties.Buffers settings = properties.getCapture().getBuffers();
+        this.direct = settings.isDirect();
+        this.sizeClasses = classesUpTo(Math.max(settings.getMaxBufferSize(), maxCaptureLimit(properties.getPolicy())));
+        this.pools = createPools(sizeClasses.length, settings.getMaxPooledPerClass());
+    }
+
+    /**
+     * Leases a cleared buffer of at least {@code minCapacity} bytes, which must be handed back with {@link #release}.
+     */
+    public ByteBuffer lease(final int minCapacity) {
+        final int sizeClass = sizeClassFor(minCapacity);
+        if (sizeClass < 0) {
+            allocatedCount.increment();
+            return allocate(minCapacity);
+        }
+
+        final ByteBuffer pooled = pools[sizeClass].poll();
+        if (pooled != null) {
+            reusedCount.increment();
+            return pooled.clear();
+        }
+        allocatedCount.increment();
+        return allocate(sizeClasses[sizeClass]);
+    }
+
+    public void release(final ByteBuffer buffer) {
+        final int sizeClass = sizeClassFor(buffer.capacity());
+        if (sizeClass >= 0 && sizeClasses[sizeClass] == buffer.capacity() && buffer.isDirect() == direct) {
+            pools[sizeClass].offer(buffer);
+        }
+    }
+
+    public int getMaxBufferSize() {
+        return sizeClasses[sizeClasses.length - 1];
+    }
+
+    public long getAllocatedCount() {
+        return allocatedCount.sum();
+    }
+
+    public long getReusedCount() {
+        return reusedCount.sum();
+    }
+
+    public int getPooledCount() {
+        int pooled = 0;
+        for (final BlockingQueue<ByteBuffer> pool : pools) {
+            pooled += pool.size();
+        }
+        return pooled;
+    }
+
+    private int sizeClassFor(final int capacity) {
+        for (int i = 0; i < sizeClasses.length; i++) {
+            if (capacity <= sizeClasses[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private ByteBuffer allocate(final int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private static int maxCaptureLimit(final AuditProperties.Policy policy) {
+        int limit = policy.getDefaultCaptureLimit();
+        for (final AuditProperties.Rule rule : policy.getRules()) {
+            if (rule.getCaptureLimit() != null) {
+                limit = Math.max(limit, rule.getCaptureLimit());
+            }
+        }
+        return limit;
+    }
+
+    private static int[] classesUpTo(final int maxBufferSize) {
+        int count = 1;
+        for (long size = SMALLEST_CLASS; size < maxBufferSize; size <<= 2) {
+            count++;
+        }
+        final int[] classes = new int[count];
+        int size = SMALLEST_CLASS;
+        for (int i = 0; i < count - 1; i++) {
+            classes[i] = size;
+            size <<= 2;
+        }
+        classes[count - 1] = Math.max(SMALLEST_CLASS, maxBufferSize);
+        return classes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BlockingQueue<ByteBuffer>[] createPools(final int count, final int maxPooledPerClass) {
+        final BlockingQueue<ByteBuffer>[] pools = new BlockingQueue[count];
+        for (int i = 0; i < count; i++) {
+            pools[i] = new ArrayBlockingQueue<>(Math.max(1, maxPooledPerClass));
+        }
+        return pools;
+    }
+}
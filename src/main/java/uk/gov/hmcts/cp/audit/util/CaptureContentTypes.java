@@ -0,0 +1,49 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ConcurrentLruCache;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+
+import java.util.List;
+
+/**
+ * Decides from its content type whether a body is captured for the audit. With {@code audit.capture.content-aware}
+ * only bodies matching one of {@code audit.capture.textual-types} are, binary and multipart bodies are described
+ * instead. The answer for each distinct content type header is cached, as services only ever send a handful.
+ */
+@Component
+public class CaptureContentTypes {
+
+    private static final int CACHE_SIZE = 64;
+
+    private final boolean contentAware;
+    private final List<MediaType> textualTypes;
+    private final ConcurrentLruCache<String, Boolean> captured;
+
+    public CaptureContentTypes(final AuditProperties properties) {
+        final AuditProperties.Capture settings = properties.getCapture();
+        this.contentAware = settings.isContentAware();
+        this.textualTypes = MediaType.parseMediaTypes(settings.getTextualTypes());
+        this.captured = new ConcurrentLruCache<>(CACHE_SIZE, this::isTextual);
+    }
+
+    /**
+     * @return true when a body of {@code contentType} should be captured, which is always the case for a body without
+     * a content type
+     */
+    public boolean isCaptured(final String contentType) {
+        return !contentAware || contentType == null || contentType.isBlank() || captured.get(contentType);
+    }
+
+    private boolean isTextual(final String contentType) {
+        try {
+            final MediaType mediaType = MediaType.parseMediaType(contentType);
+            return textualTypes.stream().anyMatch(textual -> textual.includes(mediaType));
+        } catch (InvalidMediaTypeException e) {
+            // Not worth guessing at, capture it as before
+            return true;
+        }
+    }
+}
@@ -1,33 +1,121 @@
 package uk.gov.hmcts.cp.audit.util;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Finds resources by file name pattern under the configured {@code audit.resources.locations}. The class path roots
+ * behind those locations are resolved once, each lookup then searches the roots in parallel and the result for every
+ * pattern is memoized, sorted by URL so the order doesn't depend on the class path.
+ */
 @Service
-@AllArgsConstructor
 @Slf4j
 public class ClasspathResourceLoader {
 
-    private final ResourceLoader resourceLoader;
+    private static final List<String> DEFAULT_LOCATIONS = List.of("classpath*:");
 
-    public Optional<Resource> loadFilesByPattern(final String resourcePattern) {
-        try {
-            final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(resourceLoader);
+    private final PathMatchingResourcePatternResolver resolver;
+    private final List<String> locations;
+    private final Map<String, List<Resource>> resourcesByPattern = new ConcurrentHashMap<>();
+    private volatile List<String> roots;
 
-            final Resource[] resources = resolver.getResources("classpath*:**/*" + resourcePattern);
+    public ClasspathResourceLoader(final ResourceLoader resourceLoader) {
+        this(resourceLoader, DEFAULT_LOCATIONS);
+    }
 
-            log.info("Found {} files matching pattern {}", resources.length, resourcePattern);
+    @Autowired
+    public ClasspathResourceLoader(final ResourceLoader resourceLoader, final AuditProperties properties) {
+        this(resourceLoader, properties.getResources().getLocations());
+    }
 
-            return resources.length > 0 ? Optional.of(resources[0]) : Optional.empty();
+    private ClasspathResourceLoader(final ResourceLoader resourceLoader, final List<String> locations) {
+        this.resolver = new PathMatchingResourcePatternResolver(resourceLoader);
+        this.locations = locations == null || locations.isEmpty() ? DEFAULT_LOCATIONS : List.copyOf(locations);
+    }
+
+    public Optional<Resource> loadFilesByPattern(final String resourcePattern) {
+        final List<Resource> resources = loadAllFilesByPattern(resourcePattern);
+        return resources.isEmpty() ? Optional.empty() : Optional.of(resources.get(0));
+    }
+
+    /**
+     * Every resource whose file name ends with {@code resourcePattern}, which may contain Ant-style wildcards.
+     */
+    public List<Resource> loadAllFilesByPattern(final String resourcePattern) {
+        try {
+            final List<Resource> resources = resourcesByPattern.computeIfAbsent(resourcePattern, this::findResources);
+            log.info("Found {} files matching pattern {}", resources.size(), resourcePattern);
+            return resources;
         } catch (Exception e) {
             log.error("Error loading resources for pattern: {}", resourcePattern, e);
-            return Optional.empty();
+            return List.of();
+        }
+    }
+
+    /**
+     * Forgets the memoized result for {@code resourcePattern}, so the next lookup searches the class path roots again.
+     */
+    public void evict(final String resourcePattern) {
+        resourcesByPattern.remove(resourcePattern);
+    }
+
+    private List<Resource> findResources(final String resourcePattern) {
+        final Map<String, Resource> resources = new LinkedHashMap<>();
+        resolveRoots().parallelStream()
+                .flatMap(root -> Arrays.stream(getResources(root + "**/*" + resourcePattern)))
+                .sorted(Comparator.comparing(ClasspathResourceLoader::url))
+                .forEachOrdered(resource -> resources.putIfAbsent(url(resource), resource));
+        return List.copyOf(resources.values());
+    }
+
+    private List<String> resolveRoots() {
+        List<String> resolved = roots;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = roots;
+                if (resolved == null) {
+                    resolved = locations.stream()
+                            .flatMap(location -> Arrays.stream(getResources(location)))
+                            .map(ClasspathResourceLoader::url)
+                            .map(url -> url.endsWith("/") ? url : url + "/")
+                            .distinct()
+                            .toList();
+                    roots = resolved;
+                    log.info("Indexed {} class path roots for resource lookup", resolved.size());
+                }
+            }
+        }
+        return resolved;
+    }
+
+    private Resource[] getResources(final String locationPattern) {
+        try {
+            return resolver.getResources(locationPattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String url(final Resource resource) {
+        try {
+            return resource.getURL().toString();
+        } catch (IOException e) {
+            return resource.getDescription();
         }
     }
 }
@@ -0,0 +1,90 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link AuditPayloadCodec} for the GZIP and zlib (deflate) formats. Each thread keeps its own {@link Deflater} and
+ * output chunk and resets them for every message, rather than {@link java.util.zip.GZIPOutputStream} allocating a new
+ * deflater, with its native buffers, per message. The GZIP header and trailer are written here around raw deflate data.
+ */
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public final class DeflaterPayloadCodec implements AuditPayloadCodec {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final String contentEncoding;
+    private final boolean gzip;
+    private final ThreadLocal<Deflater> deflaters;
+    private final ThreadLocal<byte[]> chunks = ThreadLocal.withInitial(() -> new byte[CHUNK_SIZE]);
+    private final ThreadLocal<CRC32> checksums = ThreadLocal.withInitial(CRC32::new);
+
+    private DeflaterPayloadCodec(final String contentEncoding, final boolean gzip, final int level) {
+        this.contentEncoding = contentEncoding;
+        this.gzip = gzip;
+        // GZIP wraps raw deflate data in its own header and trailer, zlib has the deflater write them
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, gzip));
+    }
+
+    public static DeflaterPayloadCodec gzip(final int level) {
+        return new DeflaterPayloadCodec(GZIP, true, level);
+    }
+
+    public static DeflaterPayloadCodec deflate(final int level) {
+        return new DeflaterPayloadCodec(DEFLATE, false, level);
+    }
+
+    @Override
+    public String contentEncoding() {
+        return contentEncoding;
+    }
+
+    @Override
+    public void encode(final byte[] body, final int offset, final int length, final OutputStream out) throws IOException {
+        final Deflater deflater = deflaters.get();
+        final byte[] chunk = chunks.get();
+        deflater.reset();
+        deflater.setInput(body, offset, length);
+        deflater.finish();
+
+        if (gzip) {
+            out.write(GZIP_HEADER);
+        }
+        while (!deflater.finished()) {
+            final int count = deflater.deflate(chunk);
+            out.write(chunk, 0, count);
+        }
+        if (gzip) {
+            final CRC32 checksum = checksums.get();
+            checksum.reset();
+            checksum.update(body, offset, length);
+            writeIntLittleEndian(out, (int) checksum.getValue());
+            writeIntLittleEndian(out, length);
+        }
+    }
+
+    @Override
+    public byte[] decode(final byte[] body, final int offset, final int length) throws IOException {
+        final ByteArrayInputStream encoded = new ByteArrayInputStream(body, offset, length);
+        try (InputStream in = gzip ? new GZIPInputStream(encoded) : new InflaterInputStream(encoded)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static void writeIntLittleEndian(final OutputStream out, final int value) throws IOException {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+}
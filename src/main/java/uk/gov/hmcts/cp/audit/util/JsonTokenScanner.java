@@ -0,0 +1,351 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Validates UTF-8 encoded JSON in place, without building tokens, strings or trees.
+ * Used to decide whether a captured body can be embedded verbatim in an audit event.
+ */
+@SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.CognitiveComplexity", "PMD.AvoidLiteralsInIfCondition"})
+public final class JsonTokenScanner {
+
+    private static final int MAX_DEPTH = 1000;
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    public enum Shape {
+        /** Nothing but whitespace. */
+        EMPTY,
+        OBJECT,
+        ARRAY,
+        /** A valid string, number, boolean or null. */
+        SCALAR,
+        INVALID
+    }
+
+    private JsonTokenScanner() {
+    }
+
+    public static Shape scan(final byte[] json, final int offset, final int length) {
+        final int end = offset + length;
+        final int start = skipWhitespace(json, offset, end);
+        if (start == end) {
+            return Shape.EMPTY;
+        }
+
+        final int valueEnd = scanValue(json, start, end, 0);
+        if (valueEnd < 0 || skipWhitespace(json, valueEnd, end) != end) {
+            return Shape.INVALID;
+        }
+        return switch (json[start]) {
+            case '{' -> Shape.OBJECT;
+            case '[' -> Shape.ARRAY;
+            default -> Shape.SCALAR;
+        };
+    }
+
+    /**
+     * Whether a valid JSON object has a top-level member with one of the names. A name written with escapes counts as
+     * a match, as it can't be compared without decoding it.
+     */
+    public static boolean hasMember(final byte[] json, final int offset, final int length, final Collection<String> names) {
+        final int end = offset + length;
+        int pos = skipWhitespace(json, offset, end);
+        if (names.isEmpty() || pos >= end || json[pos] != '{') {
+            return false;
+        }
+        pos = skipWhitespace(json, pos + 1, end);
+        while (pos < end && json[pos] == '"') {
+            final int nameEnd = scanString(json, pos + 1, end);
+            if (nameEnd < 0) {
+                return false;
+            }
+            if (matchesName(json, pos + 1, nameEnd - 1, names)) {
+                return true;
+            }
+            pos = skipWhitespace(json, nameEnd, end);
+            pos = scanValue(json, skipWhitespace(json, pos + 1, end), end, 1);
+            if (pos < 0) {
+                return false;
+            }
+            pos = skipWhitespace(json, pos, end);
+            if (pos >= end || json[pos] != ',') {
+                return false;
+            }
+            pos = skipWhitespace(json, pos + 1, end);
+        }
+        return false;
+    }
+
+    public static boolean isAscii(final byte[] bytes, final int offset, final int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean hasText(final byte[] bytes, final int offset, final int length) {
+        return skipWhitespace(bytes, offset, offset + length) < offset + length;
+    }
+
+    public static int skipWhitespace(final byte[] bytes, final int offset, final int end) {
+        int pos = offset;
+        while (pos < end && isWhitespace(bytes[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the index after the last non-whitespace byte before {@code end}.
+     */
+    public static int trimEnd(final byte[] bytes, final int offset, final int end) {
+        int pos = end;
+        while (pos > offset && isWhitespace(bytes[pos - 1])) {
+            pos--;
+        }
+        return pos;
+    }
+
+    private static boolean matchesName(final byte[] json, final int from, final int to, final Collection<String> names) {
+        for (int i = from; i < to; i++) {
+            if (json[i] == '\\') {
+                return true;
+            }
+        }
+        for (final String name : names) {
+            if (regionEquals(json, from, to, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionEquals(final byte[] json, final int from, final int to, final String name) {
+        if (!isAsciiName(name)) {
+            final byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+            return Arrays.equals(json, from, to, encoded, 0, encoded.length);
+        }
+        if (name.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (json[from + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiName(final String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhitespace(final byte value) {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    private static int scanValue(final byte[] json, final int pos, final int end, final int depth) {
+        if (pos >= end) {
+            return -1;
+        }
+        return switch (json[pos]) {
+            case '{' -> scanObject(json, pos + 1, end, depth + 1);
+            case '[' -> scanArray(json, pos + 1, end, depth + 1);
+            case '"' -> scanString(json, pos + 1, end);
+            case 't' -> scanLiteral(json, pos, end, TRUE);
+            case 'f' -> scanLiteral(json, pos, end, FALSE);
+            case 'n' -> scanLiteral(json, pos, end, NULL);
+            default -> scanNumber(json, pos, end);
+        };
+    }
+
+    private static int scanObject(final byte[] json, final int start, final int end, final int depth) {
+        if (depth > MAX_DEPTH) {
+            return -1;
+        }
+        int pos = skipWhitespace(json, start, end);
+        if (pos < end && json[pos] == '}') {
+            return pos + 1;
+        }
+        while (pos < end && json[pos] == '"') {
+            pos = scanString(json, pos + 1, end);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos, end);
+            if (pos >= end || json[pos] != ':') {
+                return -1;
+            }
+            pos = scanValue(json, skipWhitespace(json, pos + 1, end), end, depth);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos, end);
+            if (pos < end && json[pos] == '}') {
+                return pos + 1;
+            }
+            if (pos >= end || json[pos] != ',') {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos + 1, end);
+        }
+        return -1;
+    }
+
+    private static int scanArray(final byte[] json, final int start, final int end, final int depth) {
+        if (depth > MAX_DEPTH) {
+            return -1;
+        }
+        int pos = skipWhitespace(json, start, end);
+        if (pos < end && json[pos] == ']') {
+            return pos + 1;
+        }
+        while (pos < end) {
+            pos = scanValue(json, pos, end, depth);
+            if (pos < 0) {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos, end);
+            if (pos < end && json[pos] == ']') {
+                return pos + 1;
+            }
+            if (pos >= end || json[pos] != ',') {
+                return -1;
+            }
+            pos = skipWhitespace(json, pos + 1, end);
+        }
+        return -1;
+    }
+
+    private static int scanString(final byte[] json, final int start, final int end) {
+        int pos = start;
+        while (pos < end) {
+            final int value = json[pos] & 0xFF;
+            if (value == '"') {
+                return pos + 1;
+            } else if (value == '\\') {
+                pos = scanEscape(json, pos + 1, end);
+            } else if (value < 0x20) {
+                return -1;
+            } else if (value < 0x80) {
+                pos++;
+            } else {
+                pos = scanMultiByte(json, pos, end, value);
+            }
+            if (pos < 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int scanEscape(final byte[] json, final int pos, final int end) {
+        if (pos >= end) {
+            return -1;
+        }
+        switch (json[pos]) {
+            case '"', '\\', '/', 'b', 'f', 'n', 'r', 't':
+                return pos + 1;
+            case 'u':
+                if (pos + 4 >= end) {
+                    return -1;
+                }
+                for (int i = pos + 1; i <= pos + 4; i++) {
+                    if (Character.digit(json[i], 16) < 0) {
+                        return -1;
+                    }
+                }
+                return pos + 5;
+            default:
+                return -1;
+        }
+    }
+
+    private static int scanMultiByte(final byte[] json, final int pos, final int end, final int lead) {
+        final int length;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            length = 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            length = 3;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            length = 4;
+        } else {
+            return -1;
+        }
+        if (pos + length > end) {
+            return -1;
+        }
+        for (int i = pos + 1; i < pos + length; i++) {
+            if ((json[i] & 0xC0) != 0x80) {
+                return -1;
+            }
+        }
+        return pos + length;
+    }
+
+    private static int scanLiteral(final byte[] json, final int pos, final int end, final byte[] literal) {
+        if (pos + literal.length > end) {
+            return -1;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (json[pos + i] != literal[i]) {
+                return -1;
+            }
+        }
+        return pos + literal.length;
+    }
+
+    private static int scanNumber(final byte[] json, final int start, final int end) {
+        int pos = start;
+        if (pos < end && json[pos] == '-') {
+            pos++;
+        }
+        if (pos < end && json[pos] == '0') {
+            pos++;
+        } else {
+            final int digits = skipDigits(json, pos, end);
+            if (digits == pos) {
+                return -1;
+            }
+            pos = digits;
+        }
+        if (pos < end && json[pos] == '.') {
+            final int digits = skipDigits(json, pos + 1, end);
+            if (digits == pos + 1) {
+                return -1;
+            }
+            pos = digits;
+        }
+        if (pos < end && (json[pos] == 'e' || json[pos] == 'E')) {
+            pos++;
+            if (pos < end && (json[pos] == '+' || json[pos] == '-')) {
+                pos++;
+            }
+            final int digits = skipDigits(json, pos, end);
+            if (digits == pos) {
+                return -1;
+            }
+            pos = digits;
+        }
+        return pos;
+    }
+
+    private static int skipDigits(final byte[] json, final int start, final int end) {
+        int pos = start;
+        while (pos < end && json[pos] >= '0' && json[pos] <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+}
@@ -1,32 +1,27 @@
 package uk.gov.hmcts.cp.audit.util;
 
-import static java.util.regex.Pattern.compile;
-
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 
 import org.springframework.stereotype.Service;
+import org.springframework.util.ConcurrentLruCache;
 
 @Service
 public class PathParameterValueExtractor {
 
+    private static final int CACHE_SIZE = 256;
+
+    private final ConcurrentLruCache<TemplateKey, PathTemplate> templates =
+            new ConcurrentLruCache<>(CACHE_SIZE, key -> PathTemplate.ofRegex(key.regex(), key.parameterNames()));
+
     public Map<String, String> extractPathParameters(final String path, final String regex, final List<String> parameterNames) {
         if (path == null) {
             return Map.of();
         }
 
-        final Matcher matcher = compile(regex).matcher(path);
-        if (!matcher.matches()) {
-            return Map.of();
-        }
+        return templates.get(new TemplateKey(regex, parameterNames)).extract(path);
+    }
 
-        final Map<String, String> parameters = new HashMap<>();
-        int index = 1;
-        for (final String name : parameterNames) {
-            parameters.put(name, matcher.group(index++));
-        }
-        return parameters;
+    private record TemplateKey(String regex, List<String> parameterNames) {
     }
 }
@@ -0,0 +1,125 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A path template compiled once into a regex and its ordered parameter names, so extracting the parameter values of a
+ * request path is a single match with no per-call compilation.
+ * <p>
+ * The static methods are the one parser of path templates, shared with {@code RouteTrie}. A parameter is a whole
+ * {@code {name}} segment, a segment such as {@code {file}.json} is literal.
+ */
+public final class PathTemplate {
+
+    private final Pattern pattern;
+    private final List<String> parameterNames;
+
+    private PathTemplate(final Pattern pattern, final List<String> parameterNames) {
+        this.pattern = pattern;
+        this.parameterNames = parameterNames;
+    }
+
+    /**
+     * Compiles an API spec path such as {@code /users/{userId}/orders/{orderId}}. Each whole {@code {name}} segment
+     * becomes a named group {@code p0..pn}, every other segment is matched literally.
+     */
+    public static PathTemplate compile(final String template) {
+        final StringBuilder regex = new StringBuilder(template.length() + 16);
+        final List<String> names = new ArrayList<>();
+        final String[] segments = segments(template);
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0 || template.startsWith("/")) {
+                regex.append('/');
+            }
+            final String name = parameterName(segments[i]);
+            if (name != null) {
+                regex.append("(?<p").append(names.size()).append(">[^/]+)");
+                names.add(name);
+            } else {
+                regex.append(Pattern.quote(segments[i]));
+            }
+        }
+        return new PathTemplate(Pattern.compile(regex.toString()), List.copyOf(names));
+    }
+
+    /**
+     * The non-empty {@code /}-separated segments of a template or request path.
+     */
+    public static String[] segments(final String path) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        final int length = path.length();
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * The parameter name of a {@code {name}} segment, or null for a literal segment.
+     */
+    public static String parameterName(final String segment) {
+        final int last = segment.length() - 1;
+        if (last > 1 && segment.charAt(0) == '{' && segment.charAt(last) == '}' && segment.indexOf('{', 1) < 0) {
+            return segment.substring(1, last);
+        }
+        return null;
+    }
+
+    /**
+     * The parameter names of a template in order, without compiling it.
+     */
+    public static List<String> parameterNamesOf(final String template) {
+        final List<String> names = new ArrayList<>();
+        for (final String segment : segments(template)) {
+            final String name = parameterName(segment);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    /**
+     * Wraps a ready-made regex whose capturing groups, in order, hold the values of {@code parameterNames}.
+     */
+    public static PathTemplate ofRegex(final String regex, final List<String> parameterNames) {
+        return new PathTemplate(Pattern.compile(regex), List.copyOf(parameterNames));
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * The parameter values of {@code path} keyed by name, or an empty map when the path doesn't match the template.
+     */
+    public Map<String, String> extract(final String path) {
+        final Matcher matcher = pattern.matcher(path);
+        if (!matcher.matches()) {
+            return Map.of();
+        }
+        final int count = Math.min(parameterNames.size(), matcher.groupCount());
+        final Map<String, String> parameters = HashMap.newHashMap(count);
+        for (int i = 0; i < count; i++) {
+            parameters.put(parameterNames.get(i), matcher.group(i + 1));
+        }
+        return parameters;
+    }
+}
@@ -0,0 +1,14 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) ids from {@link UUID#randomUUID()}, backed by a shared {@code SecureRandom}.
+ */
+public class RandomIdGenerator implements AuditIdGenerator {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
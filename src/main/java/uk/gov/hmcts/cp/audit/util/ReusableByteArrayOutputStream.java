@@ -0,0 +1,65 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Unsynchronized growable byte buffer meant to be kept per thread and reused for every message it serializes.
+ * Unlike {@link java.io.ByteArrayOutputStream} the backing array is exposed, so callers can hand
+ * {@code array()} / {@code size()} to a consumer without taking a copy.
+ */
+public class ReusableByteArrayOutputStream extends OutputStream {
+
+    private final int maxRetainedCapacity;
+    private final int initialCapacity;
+    private byte[] buffer;
+    private int count;
+
+    public ReusableByteArrayOutputStream(final int initialCapacity, final int maxRetainedCapacity) {
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+        this.buffer = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(final int value) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) value;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        ensureCapacity(count + length);
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    public byte[] array() {
+        return buffer;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Empties the buffer for the next message. A buffer that grew past the retained capacity for one unusually large
+     * message is released rather than being pinned to the owning thread forever.
+     */
+    public void reset() {
+        count = 0;
+        if (buffer.length > maxRetainedCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+    }
+
+    private void ensureCapacity(final int required) {
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+        }
+    }
+}
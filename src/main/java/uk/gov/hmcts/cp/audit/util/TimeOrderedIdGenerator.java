@@ -0,0 +1,36 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered version 7 ids as defined by RFC 9562: a 48 bit Unix millisecond timestamp followed by 74 random bits.
+ * The randomness comes from {@link ThreadLocalRandom}, so threads don't contend on a shared generator, and ids sort by
+ * creation time, which keeps inserts into an index on the id append-mostly.
+ */
+public class TimeOrderedIdGenerator implements AuditIdGenerator {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_9562 = 0x8000_0000_0000_0000L;
+    private static final long RAND_A_MASK = 0x0FFFL;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final Clock clock;
+
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedIdGenerator(final Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long mostSignificantBits = (clock.millis() << 16) | VERSION_7 | (random.nextLong() & RAND_A_MASK);
+        final long leastSignificantBits = VARIANT_RFC_9562 | (random.nextLong() & RAND_B_MASK);
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
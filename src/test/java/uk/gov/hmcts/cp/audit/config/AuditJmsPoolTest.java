@@ -0,0 +1,137 @@
+package uk.gov.hmcts.cp.audit.config;
+
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.connection.SingleConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MessageConverter;
+import org.springframework.jms.support.destination.DestinationResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class AuditJmsPoolTest {
+
+    private final AuditProperties properties = new AuditProperties();
+
+    @Mock
+    private ConnectionFactory vendorConnectionFactory;
+
+    @Test
+    void poolsUnderlyingFactoryOfCachingConnectionFactory() {
+        final AuditJmsPool jmsPool = new AuditJmsPool(new JmsTemplate(new CachingConnectionFactory(vendorConnectionFactory)), properties);
+
+        assertThat(jmsPool.isPooled()).isTrue();
+        assertThat(pooledTarget(jmsPool)).isSameAs(vendorConnectionFactory);
+        assertThat(jmsPool.getMaxConnections()).isEqualTo(1);
+        assertThat(jmsPool.getMaxSessionsPerConnection()).isEqualTo(50);
+        jmsPool.stop();
+    }
+
+    @Test
+    void poolsUnderlyingFactoryOfSingleConnectionFactory() {
+        final AuditJmsPool jmsPool = new AuditJmsPool(new JmsTemplate(new SingleConnectionFactory(vendorConnectionFactory)), properties);
+
+        assertThat(pooledTarget(jmsPool)).isSameAs(vendorConnectionFactory);
+        jmsPool.stop();
+    }
+
+    @Test
+    void poolsUnderlyingFactoryOfHostPool() {
+        final JmsPoolConnectionFactory hostPool = new JmsPoolConnectionFactory();
+        hostPool.setConnectionFactory(vendorConnectionFactory);
+
+        final AuditJmsPool jmsPool = new AuditJmsPool(new JmsTemplate(hostPool), properties);
+
+        assertThat(pooledTarget(jmsPool)).isSameAs(vendorConnectionFactory);
+        jmsPool.stop();
+    }
+
+    @Test
+    void poolsVendorFactoryDirectly() {
+        properties.getJms().getPool().setMaxConnections(2);
+        properties.getJms().getPool().setMaxSessionsPerConnection(10);
+
+        final AuditJmsPool jmsPool = new AuditJmsPool(new JmsTemplate(vendorConnectionFactory), properties);
+
+        assertThat(pooledTarget(jmsPool)).isSameAs(vendorConnectionFactory);
+        assertThat(jmsPool.getMaxConnections()).isEqualTo(2);
+        assertThat(jmsPool.getMaxSessionsPerConnection()).isEqualTo(10);
+        jmsPool.stop();
+    }
+
+    @Test
+    void carriesHostTemplateSettingsOverToPooledTemplate() {
+        final DestinationResolver destinationResolver = mock(DestinationResolver.class);
+        final MessageConverter messageConverter = mock(MessageConverter.class);
+        final JmsTemplate host = new JmsTemplate(vendorConnectionFactory);
+        host.setPubSubDomain(true);
+        host.setDestinationResolver(destinationResolver);
+        host.setDefaultDestinationName("audit.default");
+        host.setMessageConverter(messageConverter);
+        host.setExplicitQosEnabled(true);
+        host.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        host.setPriority(7);
+        host.setTimeToLive(60_000);
+        host.setDeliveryDelay(250);
+        host.setReceiveTimeout(1_500);
+        host.setSessionTransacted(true);
+        host.setSessionAcknowledgeMode(Session.DUPS_OK_ACKNOWLEDGE);
+
+        final AuditJmsPool jmsPool = new AuditJmsPool(host, properties);
+        final JmsTemplate pooled = jmsPool.getJmsTemplate();
+
+        assertThat(pooled).isNotSameAs(host);
+        assertThat(pooled.isPubSubDomain()).isTrue();
+        assertThat(pooled.getDestinationResolver()).isSameAs(destinationResolver);
+        assertThat(pooled.getDefaultDestinationName()).isEqualTo("audit.default");
+        assertThat(pooled.getMessageConverter()).isSameAs(messageConverter);
+        assertThat(pooled.isExplicitQosEnabled()).isTrue();
+        assertThat(pooled.getDeliveryMode()).isEqualTo(DeliveryMode.NON_PERSISTENT);
+        assertThat(pooled.getPriority()).isEqualTo(7);
+        assertThat(pooled.getTimeToLive()).isEqualTo(60_000);
+        assertThat(pooled.getDeliveryDelay()).isEqualTo(250);
+        assertThat(pooled.getReceiveTimeout()).isEqualTo(1_500);
+        assertThat(pooled.isSessionTransacted()).isTrue();
+        assertThat(pooled.getSessionAcknowledgeMode()).isEqualTo(Session.DUPS_OK_ACKNOWLEDGE);
+        jmsPool.stop();
+    }
+
+    @Test
+    void usesHostTemplateWhenPoolDisabled() {
+        properties.getJms().getPool().setEnabled(false);
+        final JmsTemplate host = new JmsTemplate(vendorConnectionFactory);
+
+        final AuditJmsPool jmsPool = new AuditJmsPool(host, properties);
+
+        assertThat(jmsPool.getJmsTemplate()).isSameAs(host);
+        assertThat(jmsPool.isPooled()).isFalse();
+        assertThat(jmsPool.getConnectionCount()).isZero();
+        assertThat(jmsPool.getMaxConnections()).isZero();
+        jmsPool.stop();
+    }
+
+    @Test
+    void usesHostTemplateWhenJmsDisabled() {
+        properties.getJms().setEnabled(false);
+        final JmsTemplate host = new JmsTemplate(vendorConnectionFactory);
+
+        final AuditJmsPool jmsPool = new AuditJmsPool(host, properties);
+
+        assertThat(jmsPool.getJmsTemplate()).isSameAs(host);
+        assertThat(jmsPool.isPooled()).isFalse();
+    }
+
+    private static ConnectionFactory pooledTarget(final AuditJmsPool jmsPool) {
+        assertThat(jmsPool.getJmsTemplate().getConnectionFactory()).isInstanceOf(JmsPoolConnectionFactory.class);
+        return (ConnectionFactory) ((JmsPoolConnectionFactory) jmsPool.getJmsTemplate().getConnectionFactory()).getConnectionFactory();
+    }
+}
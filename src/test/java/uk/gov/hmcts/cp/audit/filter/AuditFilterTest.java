@@ -0,0 +1,286 @@
+package uk.gov.hmcts.cp.audit.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockPart;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.config.AuditProperties.AuditLevel;
+import uk.gov.hmcts.cp.audit.config.JacksonConfig;
+import uk.gov.hmcts.cp.audit.mapper.AuditPayloadMapperImpl;
+import uk.gov.hmcts.cp.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.audit.parser.RouteResolver;
+import uk.gov.hmcts.cp.audit.policy.AuditPolicy;
+import uk.gov.hmcts.cp.audit.service.AuditPayloadGenerationService;
+import uk.gov.hmcts.cp.audit.service.AuditPublisher;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+import uk.gov.hmcts.cp.audit.util.CaptureContentTypes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class AuditFilterTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final AuditProperties properties = new AuditProperties();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cases/123");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private CaptureBufferPool pool;
+
+    @Mock
+    private AuditPublisher auditPublisher;
+    @Mock
+    private RouteResolver routeResolver;
+    @Captor
+    private ArgumentCaptor<AuditEvent> eventCaptor;
+
+    @Test
+    void exchangeEventLeavesOutCredentialHeadersWhateverTheirCase() throws ServletException, IOException {
+        properties.getPayload().setMode(AuditProperties.PayloadMode.EXCHANGE);
+        jsonRequest("{\"name\":\"value\"}");
+        request.addHeader("authorization", "Bearer secret");
+        request.addHeader("COOKIE", "session=secret");
+        request.addHeader("X-Request-Id", "r-1");
+
+        filter().doFilter(request, response, (req, res) -> {
+            req.getInputStream().readAllBytes();
+            final HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.addHeader("set-cookie", "session=secret");
+            httpResponse.addHeader("X-Tag", "one");
+            httpResponse.addHeader("X-Tag", "two");
+            res.getOutputStream().write("{\"id\":\"123\"}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        final JsonNode content = publishedContent();
+        final JsonNode requestHeaders = content.path("request").path("headers");
+        assertThat(requestHeaders.path("X-Request-Id").asText()).isEqualTo("r-1");
+        assertThat(names(requestHeaders)).noneMatch(name -> "authorization".equalsIgnoreCase(name) || "cookie".equalsIgnoreCase(name));
+        assertThat(content.path("request").path("body").path("name").asText()).isEqualTo("value");
+
+        final JsonNode responseNode = content.path("response");
+        assertThat(responseNode.path("status").asInt()).isEqualTo(201);
+        assertThat(responseNode.path("headers").path("X-Tag").asText()).isEqualTo("one,two");
+        assertThat(names(responseNode.path("headers"))).noneMatch("set-cookie"::equalsIgnoreCase);
+        assertThat(responseNode.path("body").path("id").asText()).isEqualTo("123");
+        assertThat(content.path("durationMillis").isIntegralNumber()).isTrue();
+        assertThat(content.path("durationMillis").asLong()).isNotNegative();
+    }
+
+    @Test
+    void exchangeEventRecordsHeadersOnlyForLevelsThatIncludeThem() throws ServletException, IOException {
+        properties.getPayload().setMode(AuditProperties.PayloadMode.EXCHANGE);
+        properties.getPolicy().getRules().add(rule(AuditLevel.METADATA, AuditLevel.HEADERS));
+        jsonRequest("{\"name\":\"value\"}");
+        request.addHeader("X-Request-Id", "r-1");
+
+        filter().doFilter(request, response, (req, res) -> {
+            ((HttpServletResponse) res).addHeader("X-Tag", "one");
+            res.getOutputStream().write("{\"id\":\"123\"}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        final JsonNode content = publishedContent();
+        assertThat(content.path("request").has("headers")).isFalse();
+        assertThat(content.path("response").path("headers").path("X-Tag").asText()).isEqualTo("one");
+        // Neither level captures a body
+        assertThat(content.path("request").path("body").has("name")).isFalse();
+        assertThat(content.path("response").path("body").has("id")).isFalse();
+    }
+
+    @Test
+    void exchangeEventLeavesOutSkippedRequest() throws ServletException, IOException {
+        properties.getPayload().setMode(AuditProperties.PayloadMode.EXCHANGE);
+        properties.getPolicy().getRules().add(rule(AuditLevel.SKIP, AuditLevel.FULL));
+        jsonRequest("{\"name\":\"value\"}");
+        request.addHeader("X-Request-Id", "r-1");
+
+        filter().doFilter(request, response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(202);
+            res.getOutputStream().write("{\"id\":\"123\"}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        final JsonNode content = publishedContent();
+        assertThat(content.path("request").has("body")).isFalse();
+        assertThat(content.path("request").has("headers")).isFalse();
+        assertThat(content.path("response").path("status").asInt()).isEqualTo(202);
+        assertThat(content.path("response").path("body").path("id").asText()).isEqualTo("123");
+    }
+
+    @Test
+    void exchangeEventLeavesOutEmptyResponse() throws ServletException, IOException {
+        properties.getPayload().setMode(AuditProperties.PayloadMode.EXCHANGE);
+        jsonRequest("{\"name\":\"value\"}");
+
+        filter().doFilter(request, response, (req, res) -> {
+            req.getInputStream().readAllBytes();
+            ((HttpServletResponse) res).setStatus(204);
+        });
+
+        final JsonNode content = publishedContent();
+        assertThat(content.path("request").path("body").path("name").asText()).isEqualTo("value");
+        assertThat(content.path("response").path("status").asInt()).isEqualTo(204);
+        assertThat(content.path("response").has("body")).isFalse();
+    }
+
+    @Test
+    void digestsStreamedRequestBodyWithoutKeepingIt() throws ServletException, IOException, NoSuchAlgorithmException {
+        properties.getPolicy().getRules().add(rule(AuditLevel.DIGEST, AuditLevel.METADATA));
+        final byte[] body = "{\"document\":\"a large upload\"}".getBytes(StandardCharsets.UTF_8);
+        request.setContextPath("/api");
+        request.setContentType("application/json");
+        request.setContent(body);
+
+        filter().doFilter(request, response, (req, res) -> {
+            final byte[] chunk = new byte[8];
+            while (req.getInputStream().read(chunk, 0, chunk.length) != -1) {
+                // The application consumes the body in chunks
+            }
+        });
+
+        verify(auditPublisher, times(2)).publish(eventCaptor.capture());
+        final JsonNode content = contentOf(eventCaptor.getAllValues().get(0));
+        final JsonNode descriptor = content.path("_body");
+        assertThat(descriptor.path("algorithm").asText()).isEqualTo("SHA-256");
+        assertThat(descriptor.path("digest").asText())
+                .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)));
+        assertThat(descriptor.path("length").asLong()).isEqualTo(body.length);
+        assertThat(content.has("document")).isFalse();
+        assertThat(content.has("_payload")).isFalse();
+    }
+
+    @Test
+    void doesNotDrainDigestedRequestBodyForInterimMapper() throws ServletException, IOException {
+        properties.getPayload().setInterimMapper(true);
+        properties.getPolicy().getRules().add(rule(AuditLevel.DIGEST, AuditLevel.METADATA));
+        jsonRequest("{\"document\":\"unread\"}");
+
+        filter().doFilter(request, response, (req, res) -> {
+        });
+
+        assertThat(request.getInputStream().isFinished()).isFalse();
+    }
+
+    @Test
+    void describesMultipartUploadWithPartNamesWithoutBufferingIt() throws ServletException, IOException {
+        properties.getCapture().setContentAware(true);
+        final byte[] body = multipartBody();
+        request.setContextPath("/api");
+        request.setContentType("multipart/form-data; boundary=b");
+        request.setContent(body);
+        request.addPart(new MockPart("file", "scan.pdf", "%PDF".getBytes(StandardCharsets.US_ASCII)));
+        request.addPart(new MockPart("file", "scan-2.pdf", "%PDF".getBytes(StandardCharsets.US_ASCII)));
+        request.addPart(new MockPart("caseId", "123".getBytes(StandardCharsets.US_ASCII)));
+
+        filter().doFilter(request, response, (req, res) -> ((HttpServletRequest) req).getParts());
+
+        verify(auditPublisher).publish(eventCaptor.capture());
+        final JsonNode descriptor = contentOf(eventCaptor.getValue()).path("_body");
+        assertThat(descriptor.path("contentType").asText()).isEqualTo("multipart/form-data; boundary=b");
+        assertThat(descriptor.path("length").asLong()).isEqualTo(body.length);
+        assertThat(descriptor.path("parts")).extracting(JsonNode::asText).containsExactly("file", "caseId");
+        assertThat(pool.getAllocatedCount()).isZero();
+    }
+
+    @Test
+    void countsStreamedMultipartUploadWhosePartsCannotBeRead() throws ServletException, IOException {
+        properties.getCapture().setContentAware(true);
+        final byte[] body = multipartBody();
+        request.setContextPath("/api");
+        request.setContentType("multipart/form-data; boundary=b");
+        request.setContent(body);
+        // A chunked upload of unknown length, on a container that can't parse it
+        final HttpServletRequest chunked = new HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+
+            @Override
+            public Collection<Part> getParts() {
+                throw new IllegalStateException("No multipart config");
+            }
+        };
+
+        filter().doFilter(chunked, response, (req, res) -> req.getInputStream().readAllBytes());
+
+        verify(auditPublisher).publish(eventCaptor.capture());
+        final JsonNode descriptor = contentOf(eventCaptor.getValue()).path("_body");
+        assertThat(descriptor.path("length").asLong()).isEqualTo(body.length);
+        assertThat(descriptor.has("parts")).isFalse();
+        assertThat(pool.getAllocatedCount()).isZero();
+    }
+
+    private AuditFilter filter() {
+        pool = new CaptureBufferPool(properties);
+        return new AuditFilter(
+                new AuditPayloadMapperImpl(),
+                auditPublisher,
+                new AuditPayloadGenerationService(objectMapper),
+                properties,
+                pool,
+                routeResolver,
+                new AuditPolicy(properties),
+                new CaptureContentTypes(properties),
+                AuditMetrics.NOOP);
+    }
+
+    private void jsonRequest(final String body) {
+        request.setContextPath("/api");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonNode publishedContent() throws IOException {
+        verify(auditPublisher).publish(eventCaptor.capture());
+        return contentOf(eventCaptor.getValue());
+    }
+
+    private JsonNode contentOf(final AuditEvent event) throws IOException {
+        return objectMapper.readTree(objectMapper.writeValueAsString(event)).path("content");
+    }
+
+    private static byte[] multipartBody() {
+        return ("--b\r\nContent-Disposition: form-data; name=\"file\"; filename=\"scan.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n%PDF\r\n--b--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static AuditProperties.Rule rule(final AuditLevel level, final AuditLevel responseLevel) {
+        final AuditProperties.Rule rule = new AuditProperties.Rule();
+        rule.setPath("/cases/**");
+        rule.setLevel(level);
+        rule.setResponseLevel(responseLevel);
+        return rule;
+    }
+
+    private static List<String> names(final JsonNode node) {
+        final List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,140 @@
+package uk.gov.hmcts.cp.audit.filter;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class BodyCaptureTest {
+
+    private final CaptureBufferPool pool = new CaptureBufferPool(new AuditProperties());
+
+    @Test
+    void leasesNothingUntilFirstWrite() {
+        final BodyCapture capture = new BodyCapture(pool, 64);
+
+        assertThat(capture.size()).isZero();
+        assertThat(capture.getContentAsByteArray()).isEmpty();
+        assertThat(capture.getContentAsString(StandardCharsets.UTF_8)).isEmpty();
+        assertThat(pool.getAllocatedCount()).isZero();
+    }
+
+    @Test
+    void growsIntoLargerSizeClassKeepingWhatWasCaptured() {
+        final BodyCapture capture = new BodyCapture(pool, 65_536);
+        final byte[] first = filled(100, 'a');
+        final byte[] second = filled(10_000, 'b');
+
+        capture.write(first, 0, first.length);
+        capture.write(second, 0, second.length);
+
+        final byte[] content = capture.getContentAsByteArray();
+        assertThat(content).hasSize(10_100);
+        assertThat(Arrays.copyOfRange(content, 0, 100)).isEqualTo(first);
+        assertThat(Arrays.copyOfRange(content, 100, 10_100)).isEqualTo(second);
+        assertThat(capture.isTruncated()).isFalse();
+        // The 4 KB buffer outgrown went back to the pool
+        assertThat(pool.getAllocatedCount()).isEqualTo(2);
+        assertThat(pool.getPooledCount()).isEqualTo(1);
+    }
+
+    @Test
+    void appendsTruncationMarkerAfterCapturedBytes() {
+        final BodyCapture capture = new BodyCapture(pool, 4);
+        final byte[] body = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+        capture.write(body, 0, 3);
+        capture.write(body, 3, 7);
+
+        assertThat(capture.size()).isEqualTo(4);
+        assertThat(capture.getTotalBytes()).isEqualTo(10);
+        assertThat(capture.isTruncated()).isTrue();
+        assertThat(new String(capture.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("0123" + BodyCapture.TRUNCATION_MARKER);
+        assertThat(capture.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("0123" + BodyCapture.TRUNCATION_MARKER);
+    }
+
+    @Test
+    void marksBodyTruncatedWhenNothingIsCaptured() {
+        final BodyCapture capture = new BodyCapture(pool, 0);
+        final byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+
+        capture.write(body, 0, body.length);
+
+        assertThat(capture.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BodyCapture.TRUNCATION_MARKER);
+        assertThat(pool.getAllocatedCount()).isZero();
+    }
+
+    @Test
+    void decodesDirectBufferLikeHeapBuffer() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getCapture().getBuffers().setDirect(true);
+        final BodyCapture direct = new BodyCapture(new CaptureBufferPool(properties), 5);
+        final BodyCapture heap = new BodyCapture(pool, 5);
+        final byte[] body = "caf\u00e9 au lait".getBytes(StandardCharsets.UTF_8);
+
+        direct.write(body, 0, body.length);
+        heap.write(body, 0, body.length);
+
+        assertThat(direct.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("caf\u00e9" + BodyCapture.TRUNCATION_MARKER);
+        assertThat(heap.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("caf\u00e9" + BodyCapture.TRUNCATION_MARKER);
+        assertThat(direct.getContentAsByteArray()).isEqualTo(heap.getContentAsByteArray());
+    }
+
+    @Test
+    void resetDiscardsCapturedBody() {
+        final BodyCapture capture = new BodyCapture(pool, 64);
+        final byte[] partial = "partial error".getBytes(StandardCharsets.UTF_8);
+        final byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+
+        capture.write(partial, 0, partial.length);
+        capture.reset();
+        capture.write(body, 0, body.length);
+
+        assertThat(capture.getTotalBytes()).isEqualTo(5);
+        assertThat(capture.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("hello");
+        assertThat(pool.getAllocatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void releaseReturnsBufferAndOnlyCountsLaterWrites() {
+        final BodyCapture capture = new BodyCapture(pool, 64);
+        final byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+        capture.write(body, 0, body.length);
+
+        capture.release();
+        capture.write(body, 0, body.length);
+
+        assertThat(pool.getPooledCount()).isEqualTo(1);
+        assertThat(capture.size()).isZero();
+        assertThat(capture.getTotalBytes()).isEqualTo(10);
+        assertThat(pool.getAllocatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void describedBodyIsCountedButNotKept() {
+        final BodyCapture capture = new BodyCapture(pool, 64);
+        final byte[] body = "%PDF".getBytes(StandardCharsets.US_ASCII);
+        capture.write(body, 0, body.length);
+
+        capture.describeOnly("application/pdf");
+        capture.write(body, 0, body.length);
+
+        assertThat(capture.isDescribed()).isTrue();
+        assertThat(capture.getContentType()).isEqualTo("application/pdf");
+        assertThat(capture.getTotalBytes()).isEqualTo(8);
+        assertThat(capture.getContentAsByteArray()).isEmpty();
+        assertThat(capture.isTruncated()).isFalse();
+        assertThat(pool.getPooledCount()).isEqualTo(1);
+    }
+
+    private static byte[] filled(final int length, final char value) {
+        final byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
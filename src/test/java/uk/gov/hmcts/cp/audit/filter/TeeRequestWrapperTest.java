@@ -0,0 +1,115 @@
+package uk.gov.hmcts.cp.audit.filter;
+
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class TeeRequestWrapperTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/cases");
+    private final CaptureBufferPool pool = new CaptureBufferPool(new AuditProperties());
+
+    @Test
+    @SuppressWarnings("PMD.CloseResource")
+    void capturesBodyAsItIsRead() throws IOException {
+        request.setContent("{\"name\":\"value\"}".getBytes(StandardCharsets.UTF_8));
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+
+        final ServletInputStream input = wrapper.getInputStream();
+        final int first = input.read();
+        final byte[] rest = input.readAllBytes();
+
+        assertThat((char) first + new String(rest, StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"value\"}");
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"value\"}");
+        assertThat(wrapper.getCapture().getTotalBytes()).isEqualTo(16);
+    }
+
+    @Test
+    void capturesOnlyWhatTheApplicationRead() throws IOException {
+        request.setContent("0123456789".getBytes(StandardCharsets.UTF_8));
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+
+        wrapper.getInputStream().read(new byte[4], 0, 4);
+
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("0123");
+    }
+
+    @Test
+    void capturesLinesReadFromStream() throws IOException {
+        request.setContent("first\nsecond\n".getBytes(StandardCharsets.UTF_8));
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+        final byte[] line = new byte[32];
+
+        final int count = wrapper.getInputStream().readLine(line, 0, line.length);
+
+        assertThat(new String(line, 0, count, StandardCharsets.UTF_8)).isEqualTo("first\n");
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("first\n");
+    }
+
+    @Test
+    void capturesBodyReadThroughReaderInRequestEncoding() throws IOException {
+        request.setCharacterEncoding("UTF-8");
+        request.setContent("caf\u00e9".getBytes(StandardCharsets.UTF_8));
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+
+        assertThat(wrapper.getReader().readLine()).isEqualTo("caf\u00e9");
+        assertThat(wrapper.getReader()).isSameAs(wrapper.getReader());
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("caf\u00e9");
+    }
+
+    @Test
+    void defaultsCharacterEncodingToIsoLatin1() {
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+
+        assertThat(wrapper.getCharacterEncoding()).isEqualTo("ISO-8859-1");
+    }
+
+    @Test
+    void rebuildsFormBodyFromParameters() {
+        request.setContentType("application/x-www-form-urlencoded");
+        request.setCharacterEncoding("UTF-8");
+        request.addParameter("name", "a b");
+        request.addParameter("tags", "x", "y&z");
+        request.addParameter("flag", (String) null);
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+
+        assertThat(wrapper.getParameter("name")).isEqualTo("a b");
+        assertThat(wrapper.getParameterMap()).containsKeys("name", "tags", "flag");
+
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("name=a+b&tags=x&tags=y%26z&flag");
+    }
+
+    @Test
+    void doesNotRebuildFormBodyTheApplicationReadFromStream() throws IOException {
+        request.setContentType("application/x-www-form-urlencoded");
+        request.setContent("name=value".getBytes(StandardCharsets.UTF_8));
+        request.addParameter("name", "value");
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+
+        wrapper.getInputStream().readAllBytes();
+        wrapper.getParameterNames();
+
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("name=value");
+        assertThat(wrapper.getCapture().getTotalBytes()).isEqualTo(10);
+    }
+
+    @Test
+    void capturesNothingFromParametersOfRequestThatIsNotFormPost() {
+        request.setMethod("GET");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter("page", "2");
+        final TeeRequestWrapper wrapper = new TeeRequestWrapper(request, new BodyCapture(pool, 64));
+
+        assertThat(wrapper.getParameterValues("page")).containsExactly("2");
+
+        assertThat(wrapper.getContentAsByteArray()).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package uk.gov.hmcts.cp.audit.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.util.CaptureBufferPool;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class TeeResponseWrapperTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final CaptureBufferPool pool = new CaptureBufferPool(new AuditProperties());
+
+    @Test
+    void writesThroughAndCapturesBody() throws IOException {
+        final TeeResponseWrapper wrapper = new TeeResponseWrapper(response, new BodyCapture(pool, 64));
+
+        wrapper.getOutputStream().write("Hello".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getContentAsString()).isEqualTo("Hello");
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("Hello");
+        assertThat(wrapper.isTruncated()).isFalse();
+    }
+
+    @Test
+    void keepsOnlyCaptureLimitAndMarksTruncation() throws IOException {
+        final TeeResponseWrapper wrapper = new TeeResponseWrapper(response, new BodyCapture(pool, 4));
+
+        wrapper.getOutputStream().write("0123456789".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getContentAsString()).isEqualTo("0123456789");
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("0123" + BodyCapture.TRUNCATION_MARKER);
+        assertThat(wrapper.isTruncated()).isTrue();
+        assertThat(wrapper.getTotalBytes()).isEqualTo(10);
+    }
+
+    @Test
+    @SuppressWarnings("PMD.CloseResource")
+    void capturesWriterOutputOnFlush() throws IOException {
+        final TeeResponseWrapper wrapper = new TeeResponseWrapper(response, new BodyCapture(pool, 64));
+        wrapper.setCharacterEncoding("UTF-8");
+
+        final PrintWriter writer = wrapper.getWriter();
+        writer.write("caf\u00e9");
+        wrapper.flushBuffer();
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getContentAsString()).isEqualTo("caf\u00e9");
+        assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("caf\u00e9");
+    }
+
+    @Test
+    void countsButDoesNotCaptureBodyOfUncapturedContentType() throws IOException {
+        final BodyCapture capture = new BodyCapture(pool, 64);
+        final TeeResponseWrapper wrapper = new TeeResponseWrapper(response, capture, contentType -> !"application/pdf".equals(contentType));
+        wrapper.setContentType("application/pdf");
+
+        wrapper.getOutputStream().write(new byte[]{'%', 'P', 'D', 'F'});
+
+        assertThat(response.getContentAsByteArray()).hasSize(4);
+        assertThat(capture.isDescribed()).isTrue();
+        assertThat(capture.getContentType()).isEqualTo("application/pdf");
+        assertThat(capture.getTotalBytes()).isEqualTo(4);
+        assertThat(wrapper.getContentAsByteArray()).isEmpty();
+        assertThat(wrapper.isTruncated()).isFalse();
+    }
+
+    @Test
+    void digestsBodyOfAnySizeWithoutCapturingIt() throws IOException {
+        final BodyCapture capture = new BodyCapture(pool, 0);
+        capture.digestOnly("SHA-256");
+        final TeeResponseWrapper wrapper = new TeeResponseWrapper(response, capture, contentType -> false);
+        wrapper.setContentType("application/pdf");
+
+        wrapper.getOutputStream().write("hel".getBytes(StandardCharsets.UTF_8));
+        wrapper.getOutputStream().write('l');
+        wrapper.getOutputStream().write("o".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getContentAsString()).isEqualTo("hello");
+        assertThat(capture.isDescribed()).isFalse();
+        assertThat(capture.getTotalBytes()).isEqualTo(5);
+        assertThat(capture.getDigestAlgorithm()).isEqualTo("SHA-256");
+        assertThat(capture.getDigest()).isEqualTo("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+        assertThat(wrapper.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void restartsDigestWhenResponseIsReset() throws IOException {
+        final BodyCapture capture = new BodyCapture(pool, 0);
+        capture.digestOnly("SHA-256");
+        final TeeResponseWrapper wrapper = new TeeResponseWrapper(response, capture);
+
+        wrapper.getOutputStream().write("partial error".getBytes(StandardCharsets.UTF_8));
+        wrapper.resetBuffer();
+        wrapper.getOutputStream().write("hello".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(capture.getTotalBytes()).isEqualTo(5);
+        assertThat(capture.getDigest()).isEqualTo("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+    }
+}
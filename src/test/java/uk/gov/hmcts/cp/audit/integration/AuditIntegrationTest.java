@@ -70,7 +70,7 @@ class AuditIntegrationTest {
         Object element1 = document.read(".[1]");
         log.info("Request audit payload:{}", element0.toString());
         log.info("Response audit payload:{}", element1.toString());
-        assertThat(element0.toString()).contains("path-param-todo");
+        assertThat(element0.toString()).contains("id1234");
         assertThat(element1.toString()).contains("Hello");
     }
 
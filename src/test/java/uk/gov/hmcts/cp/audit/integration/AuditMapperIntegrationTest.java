@@ -33,7 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Once we wire the mapper into actually sending the payloads we can use an integration test that picks up the request
  * being sent to artemis. And drop this one
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "audit.payload.interim-mapper=true")
 @AutoConfigureMockMvc
 @ExtendWith(MockitoExtension.class)
 @Slf4j
@@ -0,0 +1,158 @@
+package uk.gov.hmcts.cp.audit.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class AuditJournalTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void replaysTextAndBytesMessagesInOrder() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            journal.append(AuditMessage.text("first", "{\"caseId\":\"1\"}"));
+            journal.append("second", "gzip", false, "compressed-and-more".getBytes(StandardCharsets.UTF_8), 10);
+
+            assertThat(journal.peek()).isEqualTo(AuditMessage.text("first", "{\"caseId\":\"1\"}"));
+            journal.commit();
+            final AuditMessage second = journal.peek();
+            assertThat(second.name()).isEqualTo("second");
+            assertThat(second.contentEncoding()).isEqualTo("gzip");
+            assertThat(new String(second.bytes(), StandardCharsets.UTF_8)).isEqualTo("compressed");
+            journal.commit();
+            assertThat(journal.peek()).isNull();
+            assertThat(journal.getPendingCount()).isZero();
+        }
+    }
+
+    @Test
+    void recoversOnlyMessagesNotYetReplayed() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            journal.append(AuditMessage.text("replayed", "{}"));
+            journal.append(AuditMessage.text("pending", "{}"));
+            journal.peek();
+            journal.commit();
+        }
+
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            assertThat(journal.getPendingCount()).isEqualTo(1);
+            assertThat(journal.peek().name()).isEqualTo("pending");
+        }
+    }
+
+    @Test
+    void ignoresTornRecordAndAppendsOverIt() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            journal.append(AuditMessage.text("kept", "{}"));
+            journal.append(AuditMessage.text("torn", "{}"));
+        }
+        corruptLastRecord();
+
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            assertThat(journal.getPendingCount()).isEqualTo(1);
+            journal.append(AuditMessage.text("appended", "{}"));
+        }
+
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            assertThat(drain(journal)).containsExactly("kept", "appended");
+        }
+    }
+
+    @Test
+    void rejectsMessagesOnceFullAndDeletesReplayedSegments() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 2, true)) {
+            int appended = 0;
+            while (journal.append(AuditMessage.text("message-" + appended, "x".repeat(100)))) {
+                appended++;
+            }
+            assertThat(appended).isEqualTo(4);
+            assertThat(journal.getSegmentCount()).isEqualTo(2);
+
+            assertThat(drain(journal)).hasSize(4);
+            assertThat(journal.getSegmentCount()).isEqualTo(1);
+            assertThat(segmentFiles()).hasSize(1);
+            assertThat(journal.append(AuditMessage.text("after", "{}"))).isTrue();
+        }
+    }
+
+    @Test
+    void rejectsMessageLargerThanSegment() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 2, true)) {
+            assertThat(journal.append(AuditMessage.text("large", "x".repeat(SEGMENT_SIZE)))).isFalse();
+            assertThat(journal.getPendingCount()).isZero();
+        }
+    }
+
+    @Test
+    void syncsWhatWasWrittenSinceLastForceAcrossSegments() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            for (int i = 0; i < 9; i++) {
+                journal.append(AuditMessage.text("message-" + i, "{\"caseId\":\"" + i + "\"}"));
+            }
+            journal.force();
+            journal.peek();
+            journal.commit();
+            journal.append(AuditMessage.text("message-9", "{}"));
+            journal.force();
+            // Nothing written since the last force
+            journal.force();
+            assertThat(journal.getSegmentCount()).isGreaterThan(1);
+        }
+
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, true)) {
+            assertThat(drain(journal)).hasSize(9).startsWith("message-1").endsWith("message-9");
+        }
+    }
+
+    @Test
+    void forceDoesNothingWithoutFsync() throws IOException {
+        try (AuditJournal journal = AuditJournal.open(directory, SEGMENT_SIZE, 4, false)) {
+            journal.append(AuditMessage.text("message", "{}"));
+            journal.force();
+
+            assertThat(journal.getPendingCount()).isEqualTo(1);
+        }
+    }
+
+    private static List<String> drain(final AuditJournal journal) {
+        final List<String> names = new ArrayList<>();
+        for (AuditMessage message = journal.peek(); message != null; message = journal.peek()) {
+            names.add(message.name());
+            journal.commit();
+        }
+        return names;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private void corruptLastRecord() throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            final int secondRecord = 8 + buffer.getInt(0);
+            buffer.put(secondRecord + 8, (byte) 0x7f);
+            buffer.force();
+        }
+    }
+}
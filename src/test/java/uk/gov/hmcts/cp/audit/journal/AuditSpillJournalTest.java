@@ -0,0 +1,105 @@
+package uk.gov.hmcts.cp.audit.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.UncategorizedJmsException;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.service.AuditClient;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditSpillJournalTest {
+
+    @TempDir
+    private Path directory;
+    @Mock
+    private AuditClient auditClient;
+
+    private AuditProperties properties;
+    private AuditSpillJournal spillJournal;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(directory);
+        properties.getJournal().setSegmentSize(64 * 1024);
+        properties.getJournal().setReplayRate(0);
+        spillJournal = new AuditSpillJournal(auditClient, properties);
+        spillJournal.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        spillJournal.stop();
+    }
+
+    @Test
+    void replaysSpilledMessagesOnceBrokerRecovers() {
+        spillJournal.spill("text-name", "{\"caseId\":\"1\"}");
+        spillJournal.spill("bytes-name", "compressed".getBytes(StandardCharsets.UTF_8), 10, "gzip");
+        doThrow(new UncategorizedJmsException("broker down")).doNothing().when(auditClient).postMessageToArtemis(anyString(), anyString());
+
+        assertThat(spillJournal.replay(10)).isZero();
+        assertThat(spillJournal.getPendingCount()).isEqualTo(2);
+
+        assertThat(spillJournal.replay(10)).isEqualTo(2);
+        verify(auditClient, times(2)).postMessageToArtemis("text-name", "{\"caseId\":\"1\"}");
+        verify(auditClient).postMessageToArtemis(eq("bytes-name"), any(byte[].class), eq(10), eq("gzip"));
+        assertThat(spillJournal.getPendingCount()).isZero();
+        assertThat(spillJournal.getReplayedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void replaysNoMoreThanAskedFor() {
+        doNothing().when(auditClient).postMessageToArtemis(anyString(), anyString());
+        for (int i = 0; i < 5; i++) {
+            spillJournal.spill("name", "{}");
+        }
+
+        assertThat(spillJournal.replay(3)).isEqualTo(3);
+        assertThat(spillJournal.getPendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void bypassesBrokerForBackoffAfterFailureOrSlowSend() {
+        properties.getJournal().setBackoff(Duration.ofMinutes(1));
+
+        assertThat(spillJournal.isBypassing()).isFalse();
+        spillJournal.recordLatency(Duration.ofMillis(10).toNanos());
+        assertThat(spillJournal.isBypassing()).isFalse();
+        spillJournal.recordLatency(Duration.ofSeconds(2).toNanos());
+        assertThat(spillJournal.isBypassing()).isTrue();
+    }
+
+    @Test
+    void keepsNothingWhenDisabled() {
+        final AuditSpillJournal disabled = new AuditSpillJournal(auditClient, new AuditProperties());
+        disabled.start();
+
+        assertThat(disabled.spill("name", "{}")).isFalse();
+        disabled.recordFailure(new UncategorizedJmsException("broker down"));
+        assertThat(disabled.isBypassing()).isFalse();
+        assertThat(disabled.replay(10)).isZero();
+        verify(auditClient, never()).postMessageToArtemis(anyString(), any(byte[].class), anyInt(), anyString());
+    }
+}
@@ -0,0 +1,67 @@
+package uk.gov.hmcts.cp.audit.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class MicrometerAuditMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerAuditMetrics metrics = new MicrometerAuditMetrics(registry);
+
+    @Test
+    void filterStagesShouldBeTaggedByRouteAndStatusClass() {
+        metrics.recordCapture("/cases/{caseId}", 201, TimeUnit.MILLISECONDS.toNanos(3));
+        metrics.recordCapture("/cases/{caseId}", 204, TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordPayloadGeneration("/cases/{caseId}", 201, TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(registry.get("audit.capture").tags("route", "/cases/{caseId}", "status", "2xx").timer().count()).isEqualTo(2);
+        assertThat(registry.get("audit.capture").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(8);
+        assertThat(registry.get("audit.payload.generation").tags("status", "2xx").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unmatchedRouteAndStatusShouldBeTaggedUnknown() {
+        metrics.recordSkipped(null, 0);
+
+        assertThat(registry.get("audit.skipped").tags("route", "UNKNOWN", "status", "UNKNOWN").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void bodySizesAndTruncationsShouldBeTaggedByBody() {
+        metrics.recordBodySize("/cases", 500, AuditMetrics.Body.REQUEST, 100);
+        metrics.recordBodySize("/cases", 500, AuditMetrics.Body.RESPONSE, 70_000);
+        metrics.recordTruncation("/cases", 500, AuditMetrics.Body.RESPONSE);
+
+        assertThat(registry.get("audit.body.size").tags("body", "request", "status", "5xx").summary().totalAmount()).isEqualTo(100);
+        assertThat(registry.get("audit.body.size").tags("body", "response").summary().totalAmount()).isEqualTo(70_000);
+        assertThat(registry.get("audit.truncations").tags("body", "response").counter().count()).isEqualTo(1);
+        assertThat(registry.get("audit.truncations").tags("body", "request").counter().count()).isZero();
+    }
+
+    @Test
+    void messageSizesShouldBeTaggedByEncoding() {
+        metrics.recordSerialization(1_000, 9_000, null);
+        metrics.recordSerialization(1_000, 2_000, "gzip");
+
+        assertThat(registry.get("audit.serialization").timer().count()).isEqualTo(2);
+        assertThat(registry.get("audit.message.size").tags("encoding", "identity").summary().totalAmount()).isEqualTo(9_000);
+        assertThat(registry.get("audit.message.size").tags("encoding", "gzip").summary().totalAmount()).isEqualTo(2_000);
+    }
+
+    @Test
+    void failedSendsShouldBeTimedAndCounted() {
+        metrics.recordSend(1_000, false);
+        metrics.recordSend(2_000, true);
+        metrics.recordSerializationFailure();
+
+        assertThat(registry.get("audit.send").tags("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("audit.send").tags("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(registry.get("audit.failures").tags("stage", "send").counter().count()).isEqualTo(1);
+        assertThat(registry.get("audit.failures").tags("stage", "serialization").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,102 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import io.swagger.parser.OpenAPIParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.util.ClasspathResourceLoader;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class OpenApiRouteIndexTest {
+
+    private static final String SPEC_HEADER = "openapi: 3.0.3\ninfo:\n  title: Live\n  version: 1.0.0\npaths:\n";
+
+    private final AuditProperties properties = new AuditProperties();
+
+    @Test
+    @DisplayName("Indexes the paths of every OpenAPI spec on the classpath")
+    void indexesSpecsOnClasspath() {
+        properties.getOpenapi().setRouteTable("nonexistent-table.tsv");
+
+        final OpenApiRouteIndex index = index();
+
+        final RouteMatch match = index.matchRoute("POST", "/case/id1234/details").orElseThrow();
+
+        assertThat(match.template()).isEqualTo("/case/{id}/details");
+        assertThat(match.operationId()).isEqualTo("getCaseDetails");
+        assertThat(match.pathParams()).containsExactlyEntriesOf(Map.of("id", "id1234"));
+        assertThat(match.source()).isEqualTo("sample.openapi.yml");
+        assertThat(index.matchRoute("GET", "/hearings/h1").orElseThrow().source()).isEqualTo("hearings.openapi.yml");
+        assertThat(index.matchRoute("GET", "/api/hello")).isPresent();
+        assertThat(index.getPathPatterns()).containsKeys("/api/echo", "/hearings/{hearingId}");
+    }
+
+    @Test
+    @DisplayName("Prefers the precompiled route table over parsing the spec")
+    void prefersPrecompiledRouteTable() {
+        properties.getOpenapi().setRouteTable("test-route-table.tsv");
+
+        final OpenApiRouteIndex index = index();
+
+        final RouteMatch match = index.matchRoute("GET", "/tables/t1").orElseThrow();
+        assertThat(match.operationId()).isEqualTo("getTable");
+        assertThat(match.pathParams()).containsExactlyEntriesOf(Map.of("tableId", "t1"));
+        assertThat(index.matchRoute("GET", "/api/hello")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Matches nothing when no spec is found")
+    void matchesNothingWithoutSpec() {
+        properties.getOpenapi().setRouteTable("nonexistent-table.tsv");
+        properties.getOpenapi().setSpecPattern("nonexistent-spec.yml");
+
+        final OpenApiRouteIndex index = index();
+
+        assertThat(index.matchRoute("GET", "/api/hello")).isEmpty();
+        assertThat(index.getPathPatterns()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Swaps in a rebuilt snapshot when a spec changes")
+    void reloadsChangedSpec(@TempDir final Path specDir) throws IOException {
+        final Path spec = specDir.resolve("live.openapi.yml");
+        Files.writeString(spec, spec("/cases/{caseId}"));
+        properties.getOpenapi().setRouteTable("nonexistent-table.tsv");
+        properties.getResources().setLocations(List.of(specDir.toUri().toString()));
+        final OpenApiRouteIndex index = new OpenApiRouteIndex(new OpenAPIParser(), new ClasspathResourceLoader(new DefaultResourceLoader(), properties), properties);
+        index.load();
+
+        assertThat(index.matchRoute("GET", "/cases/1")).isPresent();
+        assertThat(index.reload()).isFalse();
+
+        Files.writeString(spec, spec("/hearings/{hearingId}") + spec("/cases/{caseId}").substring(SPEC_HEADER.length()));
+        Files.setLastModifiedTime(spec, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        assertThat(index.reload()).isTrue();
+        assertThat(index.matchRoute("GET", "/hearings/h1")).isPresent();
+        assertThat(index.getVersion()).isEqualTo(2);
+        assertThat(index.getIndexSize()).isEqualTo(2);
+        assertThat(index.getRebuildCount()).isEqualTo(2);
+    }
+
+    private static String spec(final String path) {
+        return SPEC_HEADER + "  " + path + ":\n    get:\n      responses:\n        '200':\n          description: OK\n";
+    }
+
+    private OpenApiRouteIndex index() {
+        final OpenApiRouteIndex index = new OpenApiRouteIndex(new OpenAPIParser(), new ClasspathResourceLoader(new DefaultResourceLoader()), properties);
+        index.load();
+        return index;
+    }
+}
@@ -0,0 +1,98 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class RouteResolverTest {
+
+    private static final RouteMatch CASE_MATCH = new RouteMatch("/cases/{caseId}", "getCase", Map.of("caseId", "123"), "cases.openapi.yml");
+
+    @Mock
+    private RestApiParser restApiParser;
+
+    @Test
+    void resolvesRepeatedPathsFromCache() {
+        when(restApiParser.matchRoute("GET", "/cases/123")).thenReturn(Optional.of(CASE_MATCH));
+        final RouteResolver routeResolver = new RouteResolver(restApiParser, new AuditProperties());
+
+        assertThat(routeResolver.resolve("GET", "/cases/123")).contains(CASE_MATCH);
+        assertThat(routeResolver.resolve("GET", "/cases/123")).contains(CASE_MATCH);
+        assertThat(routeResolver.resolve("GET", "/cases/123")).contains(CASE_MATCH);
+
+        verify(restApiParser, times(1)).matchRoute("GET", "/cases/123");
+        assertThat(routeResolver.getMissCount()).isEqualTo(1);
+        assertThat(routeResolver.getHitCount()).isEqualTo(2);
+        assertThat(routeResolver.getHitRate()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPathsBeyondCapacity() {
+        when(restApiParser.matchRoute(anyString(), anyString())).thenReturn(Optional.empty());
+        final AuditProperties properties = new AuditProperties();
+        properties.getOpenapi().setRouteCacheSize(2);
+        final RouteResolver routeResolver = new RouteResolver(restApiParser, properties);
+
+        routeResolver.resolve("GET", "/a");
+        routeResolver.resolve("GET", "/b");
+        routeResolver.resolve("GET", "/c");
+        routeResolver.resolve("GET", "/a");
+
+        assertThat(routeResolver.getSize()).isEqualTo(2);
+        assertThat(routeResolver.getEvictionCount()).isEqualTo(2);
+        verify(restApiParser, times(2)).matchRoute("GET", "/a");
+    }
+
+    @Test
+    void resolvesDirectlyWhenCacheDisabled() {
+        when(restApiParser.matchRoute("GET", "/cases/123")).thenReturn(Optional.of(CASE_MATCH));
+        final AuditProperties properties = new AuditProperties();
+        properties.getOpenapi().setRouteCacheSize(0);
+        final RouteResolver routeResolver = new RouteResolver(restApiParser, properties);
+
+        routeResolver.resolve("GET", "/cases/123");
+        routeResolver.resolve("GET", "/cases/123");
+
+        verify(restApiParser, times(2)).matchRoute("GET", "/cases/123");
+        assertThat(routeResolver.getHitCount()).isZero();
+    }
+
+    @Test
+    void dropsCachedResolutionsWhenRoutesAreRebuilt() {
+        final RouteMatch rebuiltMatch = new RouteMatch("/cases/{id}", "getCaseById", Map.of("id", "123"), "cases.openapi.yml");
+        when(restApiParser.getVersion()).thenReturn(1L, 1L, 2L);
+        when(restApiParser.matchRoute("GET", "/cases/123")).thenReturn(Optional.of(CASE_MATCH)).thenReturn(Optional.of(rebuiltMatch));
+        final RouteResolver routeResolver = new RouteResolver(restApiParser, new AuditProperties());
+
+        assertThat(routeResolver.resolve("GET", "/cases/123")).contains(CASE_MATCH);
+        assertThat(routeResolver.resolve("GET", "/cases/123")).contains(CASE_MATCH);
+        assertThat(routeResolver.resolve("GET", "/cases/123")).contains(rebuiltMatch);
+        assertThat(routeResolver.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void clearDropsCachedResolutions() {
+        when(restApiParser.matchRoute("GET", "/cases/123")).thenReturn(Optional.of(CASE_MATCH));
+        final RouteResolver routeResolver = new RouteResolver(restApiParser, new AuditProperties());
+
+        routeResolver.resolve("GET", "/cases/123");
+        routeResolver.clear();
+        routeResolver.resolve("GET", "/cases/123");
+
+        verify(restApiParser, times(2)).matchRoute("GET", "/cases/123");
+        assertThat(routeResolver.getEvictionCount()).isZero();
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RouteTableTest {
+
+    @Test
+    @DisplayName("Routes survive a write and read round trip")
+    void roundTripsRoutes() throws IOException {
+        final List<ApiRoute> routes = List.of(
+                new ApiRoute("GET", "/cases/{caseId}", "getCase", "cases.openapi.yml"),
+                new ApiRoute("POST", "/cases", null, null));
+        final StringWriter writer = new StringWriter();
+
+        RouteTable.write(routes, writer);
+
+        assertThat(RouteTable.read(new StringReader(writer.toString()))).isEqualTo(routes);
+    }
+
+    @Test
+    @DisplayName("Rejects a table without the expected header")
+    void rejectsUnknownHeader() {
+        assertThatThrownBy(() -> RouteTable.read(new StringReader("GET\t/cases\tlistCases\n")))
+                .isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package uk.gov.hmcts.cp.audit.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.of;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class RouteTrieTest {
+
+    private final RouteTrie trie = RouteTrie.compile(List.of(
+            new ApiRoute("GET", "/cases/{caseId}", "getCase", "cases.yml"),
+            new ApiRoute("DELETE", "/cases/{caseId}", "deleteCase", "cases.yml"),
+            new ApiRoute("GET", "/cases/search", "searchCases", "cases.yml"),
+            new ApiRoute("GET", "/cases/{caseId}/hearings/{hearingId}", "getHearing", "cases.yml"),
+            new ApiRoute("GET", "/cases/search/{term}/hearings/latest", "latestHearingForTerm", "cases.yml"),
+            new ApiRoute("get", "/users/{userId}/profile", "getProfile", "cases.yml")
+    ));
+
+    private static Stream<Arguments> matchCases() {
+        return Stream.of(
+                of("GET", "/cases/123", "/cases/{caseId}", "getCase", Map.of("caseId", "123")),
+                of("DELETE", "/cases/123", "/cases/{caseId}", "deleteCase", Map.of("caseId", "123")),
+                of("GET", "/cases/search", "/cases/search", "searchCases", Map.of()),
+                of("GET", "/cases/search/hearings/h1", "/cases/{caseId}/hearings/{hearingId}", "getHearing", Map.of("caseId", "search", "hearingId", "h1")),
+                of("GET", "/cases/search/fraud/hearings/latest", "/cases/search/{term}/hearings/latest", "latestHearingForTerm", Map.of("term", "fraud")),
+                of("GET", "/users/a%20b/profile/", "/users/{userId}/profile", "getProfile", Map.of("userId", "a b")),
+                of("POST", "/cases/123", "/cases/{caseId}", null, Map.of("caseId", "123"))
+        );
+    }
+
+    @ParameterizedTest(name = "Matches {0} {1} to {2}")
+    @MethodSource("matchCases")
+    @DisplayName("Matches request paths to templates, preferring static segments over parameters")
+    void matchesRequestPaths(final String method, final String path, final String template, final String operationId, final Map<String, String> pathParams) {
+        final RouteMatch match = trie.match(method, path).orElseThrow();
+
+        assertThat(match.template()).isEqualTo(template);
+        assertThat(match.operationId()).isEqualTo(operationId);
+        assertThat(match.pathParams()).containsExactlyInAnyOrderEntriesOf(pathParams);
+    }
+
+    @Test
+    @DisplayName("Returns empty when no template matches")
+    void returnsEmptyWhenNoTemplateMatches() {
+        assertThat(trie.match("GET", "/cases")).isEmpty();
+        assertThat(trie.match("GET", "/cases/123/hearings")).isEmpty();
+        assertThat(trie.match("GET", "/unknown")).isEmpty();
+        assertThat(trie.match("GET", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Merges specs, keeping the first of clashing routes and reporting the clash")
+    void mergesSpecs() {
+        final RouteTrie merged = RouteTrie.compile(List.of(
+                new ApiRoute("GET", "/cases/{caseId}", "getCase", "cases.yml"),
+                new ApiRoute("GET", "/cases/{caseId}", "getCase", "gateway.yml"),
+                new ApiRoute("PUT", "/cases/{caseId}", "updateCase", "cases.yml"),
+                new ApiRoute("PUT", "/cases/{caseId}", "replaceCase", "gateway.yml"),
+                new ApiRoute("GET", "/cases/{id}", "getCaseById", "gateway.yml"),
+                new ApiRoute("GET", "/hearings/{hearingId}", "getHearing", "gateway.yml")
+        ));
+
+        assertThat(merged.size()).isEqualTo(2);
+        assertThat(merged.getConflicts()).hasSize(2);
+        assertThat(merged.match("PUT", "/cases/1").orElseThrow().operationId()).isEqualTo("updateCase");
+        assertThat(merged.match("GET", "/cases/1").orElseThrow().source()).isEqualTo("cases.yml");
+        assertThat(merged.match("GET", "/hearings/1").orElseThrow().source()).isEqualTo("gateway.yml");
+    }
+
+    @Test
+    @DisplayName("Exposes an equivalent regex per template")
+    void exposesPathPatterns() {
+        assertThat(trie.getPathPatterns()).hasSize(5);
+        assertThat(trie.getPathPatterns().get("/cases/{caseId}/hearings/{hearingId}").matcher("/cases/1/hearings/2").matches()).isTrue();
+        assertThat(trie.getPathPatterns().get("/cases/search").matcher("/cases/other").matches()).isFalse();
+    }
+}
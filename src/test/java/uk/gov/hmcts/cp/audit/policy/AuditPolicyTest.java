@@ -0,0 +1,126 @@
+package uk.gov.hmcts.cp.audit.policy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.config.AuditProperties.AuditLevel;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class AuditPolicyTest {
+
+    private final AuditPolicy policy = new AuditPolicy(properties(
+            rule(List.of(), "/internal/**", AuditLevel.SKIP, null, null),
+            rule(List.of("get"), "/cases/{caseId}/documents/**", AuditLevel.HEADERS, AuditLevel.METADATA, null),
+            rule(List.of("POST", "PUT"), "/cases/**", AuditLevel.FULL, null, 1_048_576)));
+
+    static Stream<Arguments> decisions() {
+        return Stream.of(
+                Arguments.of("GET", "/internal/status", new AuditDecision(AuditLevel.SKIP, AuditLevel.SKIP, 0)),
+                Arguments.of("GET", "/cases/123/documents/456", new AuditDecision(AuditLevel.HEADERS, AuditLevel.METADATA, 0)),
+                Arguments.of("POST", "/cases/123/documents/456", new AuditDecision(AuditLevel.FULL, AuditLevel.FULL, 1_048_576)),
+                Arguments.of("put", "/cases/123", new AuditDecision(AuditLevel.FULL, AuditLevel.FULL, 1_048_576)),
+                Arguments.of("GET", "/cases/123", new AuditDecision(AuditLevel.FULL, AuditLevel.FULL, 65_536)),
+                Arguments.of("DELETE", "/hearings/1", new AuditDecision(AuditLevel.FULL, AuditLevel.FULL, 65_536))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("decisions")
+    void firstMatchingRuleDecides(final String method, final String path, final AuditDecision expected) {
+        assertThat(policy.decide(method, path)).isEqualTo(expected);
+    }
+
+    @Test
+    void auditsEverythingInFullByDefault() {
+        final AuditDecision decision = new AuditPolicy(new AuditProperties()).decide("GET", "/cases/123");
+
+        assertThat(decision).isEqualTo(new AuditDecision(AuditLevel.FULL, AuditLevel.FULL, 65_536));
+        assertThat(decision.isSkipped()).isFalse();
+    }
+
+    @Test
+    void skipsActuatorAndHealthPathsByDefault() {
+        assertThat(policy.decide("GET", "/actuator/health").isSkipped()).isTrue();
+        assertThat(policy.decide("GET", "/health").isSkipped()).isTrue();
+        assertThat(policy.decide("POST", "/cases/health").isSkipped()).isFalse();
+    }
+
+    @Test
+    void excludesComeBeforeRules() {
+        final AuditProperties properties = properties(rule(List.of(), "/**", AuditLevel.FULL, null, null));
+        properties.getPolicy().setExcludes(List.of("/metrics/**"));
+
+        final AuditPolicy excludingPolicy = new AuditPolicy(properties);
+
+        assertThat(excludingPolicy.decide("GET", "/metrics/jvm").isSkipped()).isTrue();
+        assertThat(excludingPolicy.decide("GET", "/actuator/health").isSkipped()).isFalse();
+    }
+
+    @Test
+    void doesNotCaptureBodiesWhenNoLevelNeedsOne() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getPolicy().setDefaultLevel(AuditLevel.METADATA);
+
+        final AuditDecision decision = new AuditPolicy(properties).decide("GET", "/cases/123");
+
+        assertThat(decision.captureLimit()).isZero();
+        assertThat(decision.capturesRequestBody()).isFalse();
+        assertThat(decision.capturesResponseBody()).isFalse();
+    }
+
+    @Test
+    void rejectsRuleWithoutPath() {
+        final AuditProperties properties = properties(rule(List.of("GET"), " ", AuditLevel.SKIP, null, null));
+
+        assertThatThrownBy(() -> new AuditPolicy(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void digestsBodiesOnlyAtDigestLevel() {
+        final AuditPolicy digestPolicy = new AuditPolicy(properties(
+                rule(List.of("POST"), "/documents/**", AuditLevel.DIGEST, null, null),
+                rule(List.of("GET"), "/documents/**", AuditLevel.HEADERS, AuditLevel.DIGEST, null)));
+
+        final AuditDecision upload = digestPolicy.decide("POST", "/documents/1");
+        final AuditDecision download = digestPolicy.decide("GET", "/documents/1");
+
+        assertThat(upload).isEqualTo(new AuditDecision(AuditLevel.DIGEST, AuditLevel.DIGEST, 0));
+        assertThat(upload.digestsRequestBody()).isTrue();
+        assertThat(upload.capturesRequestBody()).isFalse();
+        assertThat(download.digestsRequestBody()).isFalse();
+        assertThat(download.digestsResponseBody()).isTrue();
+    }
+
+    @Test
+    void rejectsUnknownDigestAlgorithmWhenDigesting() {
+        final AuditProperties properties = properties(rule(List.of(), "/documents/**", AuditLevel.DIGEST, null, null));
+        properties.getCapture().setDigestAlgorithm("SHA-999");
+
+        assertThatThrownBy(() -> new AuditPolicy(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static AuditProperties properties(final AuditProperties.Rule... rules) {
+        final AuditProperties properties = new AuditProperties();
+        properties.getPolicy().setRules(List.of(rules));
+        return properties;
+    }
+
+    private static AuditProperties.Rule rule(final List<String> methods, final String path, final AuditLevel level,
+                                             final AuditLevel responseLevel, final Integer captureLimit) {
+        final AuditProperties.Rule rule = new AuditProperties.Rule();
+        rule.setMethods(methods);
+        rule.setPath(path);
+        rule.setLevel(level);
+        rule.setResponseLevel(responseLevel);
+        rule.setCaptureLimit(captureLimit);
+        return rule;
+    }
+}
@@ -0,0 +1,165 @@
+package uk.gov.hmcts.cp.audit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.service.AuditCircuitBreaker.State;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditCircuitBreakerTest {
+
+    private final List<AuditCircuitBreakerEvent> events = new ArrayList<>();
+    private final MutableClock clock = new MutableClock();
+    private AuditCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        final AuditProperties properties = new AuditProperties();
+        final AuditProperties.CircuitBreaker settings = properties.getJms().getCircuitBreaker();
+        settings.setEnabled(true);
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setOpenDuration(Duration.ofSeconds(10));
+        settings.setHalfOpenCalls(2);
+        circuitBreaker = new AuditCircuitBreaker(properties, event -> events.add((AuditCircuitBreakerEvent) event), clock);
+    }
+
+    @Test
+    void disabled_breaker_should_run_every_call() {
+        final AuditCircuitBreaker disabled = new AuditCircuitBreaker(new AuditProperties(), event -> { });
+        for (int i = 0; i < 30; i++) {
+            assertThatThrownBy(() -> disabled.run(this::fail)).isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(disabled.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void breaker_should_open_when_failure_rate_reaches_threshold() {
+        circuitBreaker.run(() -> { });
+        circuitBreaker.run(() -> { });
+        assertThatThrownBy(() -> circuitBreaker.run(this::fail)).isInstanceOf(IllegalStateException.class);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+
+        assertThatThrownBy(() -> circuitBreaker.run(this::fail)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getFailureRate()).isEqualTo(50f);
+        assertThat(events).containsExactly(new AuditCircuitBreakerEvent(State.CLOSED, State.OPEN, clock.instant()));
+    }
+
+    @Test
+    void open_breaker_should_fail_fast_without_running_call() {
+        open();
+        final AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> circuitBreaker.run(calls::incrementAndGet)).isInstanceOf(AuditCircuitOpenException.class);
+
+        assertThat(calls).hasValue(0);
+        assertThat(circuitBreaker.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void breaker_should_close_after_successful_probes() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        circuitBreaker.run(() -> { });
+        assertThat(circuitBreaker.getState()).isEqualTo(State.HALF_OPEN);
+        circuitBreaker.run(() -> { });
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.getFailureRate()).isZero();
+        assertThat(events).extracting(AuditCircuitBreakerEvent::to).containsExactly(State.OPEN, State.HALF_OPEN, State.CLOSED);
+    }
+
+    @Test
+    void breaker_should_reopen_when_probe_fails() {
+        open();
+        clock.advance(Duration.ofSeconds(10));
+
+        assertThatThrownBy(() -> circuitBreaker.run(this::fail)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getOpenedCount()).isEqualTo(2);
+        assertThatThrownBy(() -> circuitBreaker.run(() -> { })).isInstanceOf(AuditCircuitOpenException.class);
+    }
+
+    @Test
+    void half_open_breaker_should_limit_probes() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().getCircuitBreaker().setEnabled(true);
+        properties.getJms().getCircuitBreaker().setMinimumCalls(1);
+        properties.getJms().getCircuitBreaker().setHalfOpenCalls(1);
+        final AuditCircuitBreaker breaker = new AuditCircuitBreaker(properties, event -> { }, clock);
+        assertThatThrownBy(() -> breaker.run(this::fail)).isInstanceOf(IllegalStateException.class);
+        clock.advance(properties.getJms().getCircuitBreaker().getOpenDuration());
+
+        // The probe is still in flight when the next call arrives
+        breaker.run(() -> assertThatThrownBy(() -> breaker.run(() -> { })).isInstanceOf(AuditCircuitOpenException.class));
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void slow_calls_should_open_breaker() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().getCircuitBreaker().setEnabled(true);
+        properties.getJms().getCircuitBreaker().setMinimumCalls(1);
+        properties.getJms().getCircuitBreaker().setSlowCallDuration(Duration.ZERO);
+        final AuditCircuitBreaker breaker = new AuditCircuitBreaker(properties, event -> { }, clock);
+
+        breaker.run(() -> LockSupport.parkNanos(1_000_000));
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.getSlowCallRate()).isEqualTo(100f);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> circuitBreaker.run(this::fail)).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+    }
+
+    private void fail() {
+        throw new IllegalStateException("broker down");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-03-01T10:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,30 +1,61 @@
 package uk.gov.hmcts.cp.audit.service;
 
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
 import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.jms.support.destination.DestinationResolver;
+import uk.gov.hmcts.cp.audit.config.AuditJmsPool;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 @Slf4j
 class AuditClientTest {
     @Mock
     JmsTemplate jmsTemplate;
+    @Mock
+    AuditJmsPool jmsPool;
+    @Spy
+    AuditCircuitBreaker circuitBreaker = new AuditCircuitBreaker(new AuditProperties(), event -> { });
 
     @InjectMocks
     AuditClient auditClient;
 
     @Captor
     ArgumentCaptor<MessagePostProcessor> messageCaptor;
+    @Captor
+    ArgumentCaptor<MessageCreator> messageCreatorCaptor;
+
+    @BeforeEach
+    void setUp() {
+        when(jmsPool.getJmsTemplate()).thenReturn(jmsTemplate);
+    }
 
     @Test
     void post_message_should_send_to_artemis() {
@@ -32,4 +63,38 @@ class AuditClientTest {
         auditClient.postMessageToArtemis("My message", "{}");
         verify(jmsTemplate).convertAndSend(eq("jms.topic.auditing.event"), eq("{}"), messageCaptor.capture());
     }
+
+    @Test
+    void post_bytes_message_should_send_bytes_message_to_artemis(@Mock Session session, @Mock BytesMessage bytesMessage) throws JMSException {
+        final byte[] buffer = "{}--unused".getBytes(StandardCharsets.UTF_8);
+        when(session.createBytesMessage()).thenReturn(bytesMessage);
+
+        auditClient.postMessageToArtemis("My message", buffer, 2);
+
+        verify(jmsTemplate).send(eq("jms.topic.auditing.event"), messageCreatorCaptor.capture());
+        messageCreatorCaptor.getValue().createMessage(session);
+        verify(bytesMessage).writeBytes(buffer, 0, 2);
+        verify(bytesMessage).setStringProperty("CPPNAME", "My message");
+    }
+
+    @Test
+    void post_messages_should_send_batch_in_one_transaction(@Mock ConnectionFactory connectionFactory, @Mock Connection connection,
+                                                            @Mock Session session, @Mock MessageProducer producer,
+                                                            @Mock DestinationResolver destinationResolver, @Mock Queue queue,
+                                                            @Mock TextMessage textMessage) throws JMSException {
+        when(jmsTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(jmsTemplate.getDestinationResolver()).thenReturn(destinationResolver);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(true, Session.SESSION_TRANSACTED)).thenReturn(session);
+        when(destinationResolver.resolveDestinationName(session, "jms.topic.auditing.event", false)).thenReturn(queue);
+        when(session.createProducer(queue)).thenReturn(producer);
+        when(session.createTextMessage("{}")).thenReturn(textMessage);
+
+        auditClient.postMessagesToArtemis(List.of(AuditMessage.text("first", "{}"), AuditMessage.text("second", "{}")));
+
+        verify(textMessage).setStringProperty("CPPNAME", "first");
+        verify(textMessage).setStringProperty("CPPNAME", "second");
+        verify(producer, times(2)).send(textMessage);
+        verify(session).commit();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package uk.gov.hmcts.cp.audit.service;
+
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.hmcts.cp.audit.config.JacksonConfig;
+import uk.gov.hmcts.cp.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.audit.model.AuditExchange;
+import uk.gov.hmcts.cp.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.audit.model.BodyDescriptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class AuditPayloadGenerationServiceTest {
+
+    private static final Map<String, String> HEADERS = Map.of("Content-Type", "application/json", "CJSCPPUID", "user-1");
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final AuditPayloadGenerationService service = new AuditPayloadGenerationService(objectMapper);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"field\":\"value\",\"nested\":{\"a\":[1,2]}}", "{ }", "[1,{\"a\":\"b\"}]", "\"text\"", "", "json body"})
+    void rawPassthroughProducesSameContentAsTree(final String body) throws IOException {
+        final Map<String, String> queryParams = Map.of("query", "q1");
+        final Map<String, String> pathParams = Map.of("id", "1234");
+
+        final AuditPayload tree = service.generatePayload("ctx", body, HEADERS, queryParams, pathParams);
+        final AuditEvent raw = service.generatePayload("ctx", body.getBytes(StandardCharsets.UTF_8), "UTF-8", HEADERS, queryParams, pathParams);
+
+        final JsonNode treeJson = objectMapper.readTree(objectMapper.writeValueAsString(tree));
+        final ByteArrayOutputStream rawBytes = new ByteArrayOutputStream();
+        objectMapper.writeValue(rawBytes, raw);
+        final JsonNode rawJson = objectMapper.readTree(rawBytes.toByteArray());
+
+        assertThat(withoutGeneratedValues(rawJson)).isEqualTo(withoutGeneratedValues(treeJson));
+        assertThat(rawJson.at("/content/_metadata/context/user").asText()).isEqualTo("user-1");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"id\":\"body\",\"field\":\"value\"}", "{\"_metadata\":{\"name\":\"forged\"}}", "{\"\\u0069d\":\"escaped\"}"})
+    void bodyMembersNamedLikeFieldsAreOverwrittenAsInTree(final String body) throws IOException {
+        final Map<String, String> pathParams = Map.of("id", "1234");
+
+        final AuditPayload tree = service.generatePayload("ctx", body, HEADERS, Map.of(), pathParams);
+        final AuditEvent raw = service.generatePayload("ctx", body.getBytes(StandardCharsets.UTF_8), "UTF-8", HEADERS, Map.of(), pathParams);
+
+        // Duplicate keys would otherwise read back as the last one and look the same as the tree
+        final JsonNode rawJson = objectMapper.readerFor(JsonNode.class)
+                .with(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+                .readValue(objectMapper.writeValueAsString(raw));
+        final JsonNode treeJson = objectMapper.readTree(objectMapper.writeValueAsString(tree));
+        assertThat(withoutGeneratedValues(rawJson)).isEqualTo(withoutGeneratedValues(treeJson));
+        assertThat(rawJson.at("/content/id").asText()).isEqualTo("1234");
+    }
+
+    @Test
+    void describesUncapturedBodyInPlaceOfBody() throws IOException {
+        final BodyDescriptor body = new BodyDescriptor("multipart/form-data; boundary=x", 1_048_576, List.of("file", "caseId"));
+
+        final AuditPayload payload = service.generatePayload("ctx", body, HEADERS, Map.of("query", "q1"), Map.of("id", "1234"));
+
+        final JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(payload));
+        assertThat(json.at("/content/_body/contentType").asText()).isEqualTo("multipart/form-data; boundary=x");
+        assertThat(json.at("/content/_body/length").asLong()).isEqualTo(1_048_576);
+        assertThat(json.at("/content/_body/parts").toString()).isEqualTo("[\"file\",\"caseId\"]");
+        assertThat(json.at("/content/query").asText()).isEqualTo("q1");
+        assertThat(json.at("/content/id").asText()).isEqualTo("1234");
+        assertThat(json.at("/content/_metadata/context/user").asText()).isEqualTo("user-1");
+    }
+
+    @Test
+    void omitsPartsOfNonMultipartBody() throws IOException {
+        final AuditPayload payload = service.generatePayload("ctx", new BodyDescriptor("application/pdf", 42, List.of()), HEADERS, Map.of(), Map.of());
+
+        final JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(payload));
+        assertThat(json.at("/content/_body/length").asLong()).isEqualTo(42);
+        assertThat(json.at("/content/_body").has("parts")).isFalse();
+    }
+
+    @Test
+    void combinesRequestAndResponseIntoOneExchangeEvent() throws IOException {
+        final AuditExchange exchange = AuditExchange.builder()
+                .request(service.generateContent("{\"name\":\"case\"}", Map.of(), Map.of("id", "1234")))
+                .requestHeaders(Map.of("Content-Type", "application/json"))
+                .response(service.generateContent("{\"id\":\"1234\"}".getBytes(StandardCharsets.UTF_8), "UTF-8", Map.of(), Map.of()))
+                .status(201)
+                .responseHeaders(Map.of("Location", "/cases/1234"))
+                .duration(Duration.ofMillis(42))
+                .build();
+
+        final AuditPayload payload = service.generateExchangePayload("ctx", exchange, HEADERS);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        objectMapper.writeValue(bytes, payload);
+        final JsonNode json = objectMapper.readTree(bytes.toByteArray());
+        assertThat(json.at("/content/request/headers/Content-Type").asText()).isEqualTo("application/json");
+        assertThat(json.at("/content/request/body/name").asText()).isEqualTo("case");
+        assertThat(json.at("/content/request/body/id").asText()).isEqualTo("1234");
+        assertThat(json.at("/content/response/status").asInt()).isEqualTo(201);
+        assertThat(json.at("/content/response/headers/Location").asText()).isEqualTo("/cases/1234");
+        assertThat(json.at("/content/response/body/id").asText()).isEqualTo("1234");
+        assertThat(json.at("/content/durationMillis").asLong()).isEqualTo(42);
+        assertThat(json.at("/_metadata/name").asText()).isEqualTo("audit.events.audit-recorded");
+        assertThat(json.at("/content/request/body").has("_metadata")).isFalse();
+        assertThat(json.at("/content/response/body").has("_metadata")).isFalse();
+    }
+
+    @Test
+    void exchangeWithoutResponseBodyKeepsStatus() throws IOException {
+        final AuditExchange exchange = AuditExchange.builder()
+                .request(service.generateContent("", Map.of(), Map.of()))
+                .requestHeaders(Map.of())
+                .status(204)
+                .responseHeaders(Map.of())
+                .duration(Duration.ofMillis(3))
+                .build();
+
+        final JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(service.generateExchangePayload("ctx", exchange, HEADERS)));
+
+        assertThat(json.at("/content/response/status").asInt()).isEqualTo(204);
+        assertThat(json.at("/content/response").has("body")).isFalse();
+        assertThat(json.at("/content/request").has("headers")).isFalse();
+    }
+
+    private JsonNode withoutGeneratedValues(final JsonNode node) {
+        final ObjectNode copy = node.deepCopy();
+        copy.remove("_metadata");
+        copy.remove("timestamp");
+        ((ObjectNode) copy.get("content")).remove("_metadata");
+        return copy;
+    }
+}
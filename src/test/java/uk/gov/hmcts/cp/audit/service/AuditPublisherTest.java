@@ -0,0 +1,156 @@
+package uk.gov.hmcts.cp.audit.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.model.AuditMetadata;
+import uk.gov.hmcts.cp.audit.model.AuditPayload;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPublisherTest {
+
+    @Mock
+    private AuditService auditService;
+
+    private AuditPublisher auditPublisher;
+
+    @AfterEach
+    void tearDown() {
+        if (auditPublisher != null) {
+            auditPublisher.stop();
+        }
+    }
+
+    @Test
+    void publishesOnCallingThreadWhenAsyncDisabled() {
+        auditPublisher = new AuditPublisher(auditService, new AuditProperties());
+        final AuditPayload auditPayload = payload();
+
+        auditPublisher.publish(auditPayload);
+
+        verify(auditService).postMessageToArtemis(auditPayload);
+        assertThat(auditPublisher.getPublishedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void discardsEventsWhenJmsDisabled() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().setEnabled(false);
+        properties.getAsync().setEnabled(true);
+        auditPublisher = new AuditPublisher(auditService, properties);
+        auditPublisher.start();
+
+        auditPublisher.publish(payload());
+
+        verifyNoInteractions(auditService);
+        assertThat(auditPublisher.getQueueDepth()).isZero();
+        assertThat(auditPublisher.getPublishedCount()).isZero();
+    }
+
+    @Test
+    void publishesFromWorkerWhenAsyncEnabled() {
+        auditPublisher = startPublisher(AuditProperties.OverflowPolicy.BLOCK);
+        final AuditPayload auditPayload = payload();
+
+        auditPublisher.publish(auditPayload);
+
+        verify(auditService, timeout(2000)).postMessageToArtemis(auditPayload);
+    }
+
+    @Test
+    void publishesQueuedEventsAsOneBatch() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getAsync().setEnabled(true);
+        properties.getAsync().setWorkers(1);
+        properties.getJms().getBatch().setEnabled(true);
+        properties.getJms().getBatch().setMaxSize(2);
+        properties.getJms().getBatch().setMaxWait(Duration.ofSeconds(1));
+        auditPublisher = new AuditPublisher(auditService, properties);
+        final AuditPayload first = payload();
+        final AuditPayload second = payload();
+
+        auditPublisher.publish(first);
+        auditPublisher.publish(second);
+        auditPublisher.start();
+
+        verify(auditService, timeout(2000)).postMessagesToArtemis(List.of(first, second));
+    }
+
+    @Test
+    void dropsNewestEventWhenQueueIsFull() throws InterruptedException {
+        auditPublisher = startPublisher(AuditProperties.OverflowPolicy.DROP_NEWEST);
+        final CountDownLatch release = blockWorker();
+
+        auditPublisher.publish(payload());
+        auditPublisher.publish(payload());
+
+        assertThat(auditPublisher.getQueueDepth()).isEqualTo(1);
+        assertThat(auditPublisher.getDroppedCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void dropsOldestEventWhenQueueIsFull() throws InterruptedException {
+        auditPublisher = startPublisher(AuditProperties.OverflowPolicy.DROP_OLDEST);
+        final CountDownLatch release = blockWorker();
+        final AuditPayload newest = payload();
+
+        auditPublisher.publish(payload());
+        auditPublisher.publish(newest);
+
+        assertThat(auditPublisher.getQueueDepth()).isEqualTo(1);
+        assertThat(auditPublisher.getDroppedCount()).isEqualTo(1);
+        release.countDown();
+        verify(auditService, timeout(2000)).postMessageToArtemis(newest);
+    }
+
+    private AuditPublisher startPublisher(final AuditProperties.OverflowPolicy overflowPolicy) {
+        final AuditProperties properties = new AuditProperties();
+        properties.getAsync().setEnabled(true);
+        properties.getAsync().setWorkers(1);
+        properties.getAsync().setQueueCapacity(1);
+        properties.getAsync().setOverflowPolicy(overflowPolicy);
+        final AuditPublisher publisher = new AuditPublisher(auditService, properties);
+        publisher.start();
+        return publisher;
+    }
+
+    /**
+     * Parks the single worker inside the first send so that the queue can be filled deterministically.
+     */
+    private CountDownLatch blockWorker() throws InterruptedException {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return null;
+        }).when(auditService).postMessageToArtemis(any());
+
+        auditPublisher.publish(payload());
+        assertThat(sending.await(2, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    private AuditPayload payload() {
+        return AuditPayload.builder()
+                ._metadata(AuditMetadata.builder().id(randomUUID()).name("audit.events.audit-recorded").build())
+                .build();
+    }
+}
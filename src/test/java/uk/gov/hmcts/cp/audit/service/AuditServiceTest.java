@@ -4,25 +4,46 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.UncategorizedJmsException;
 import org.springframework.jms.core.MessagePostProcessor;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+import uk.gov.hmcts.cp.audit.journal.AuditSpillJournal;
+import uk.gov.hmcts.cp.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.audit.model.AuditMessage;
 import uk.gov.hmcts.cp.audit.model.AuditMetadata;
 import uk.gov.hmcts.cp.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.audit.util.DeflaterPayloadCodec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
 
 import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class AuditServiceTest {
 
     @Mock
@@ -30,11 +51,19 @@ class AuditServiceTest {
     @Mock
     private AuditClient auditClient;
 
-    @InjectMocks
     private AuditService auditService;
 
     @Captor
     private ArgumentCaptor<MessagePostProcessor> captor;
+    @Captor
+    private ArgumentCaptor<byte[]> bytesCaptor;
+    @Captor
+    private ArgumentCaptor<Integer> lengthCaptor;
+
+    @BeforeEach
+    void setUp() {
+        auditService = new AuditService(objectMapper, auditClient, new AuditProperties());
+    }
 
     @Test
     void dontPostMessageToArtemisWhenAuditPayloadIsNull() {
@@ -67,4 +96,149 @@ class AuditServiceTest {
         verify(objectMapper).writeValueAsString(auditPayload);
         // verify(jmsTemplate, never()).convertAndSend(anyString(), anyString());
     }
+
+    @Test
+    void sendsSerializableMessagesOfBatch() throws JsonProcessingException {
+        final AuditPayload good = mock(AuditPayload.class);
+        final AuditPayload bad = mock(AuditPayload.class);
+        when(good._metadata()).thenReturn(AuditMetadata.builder().id(randomUUID()).name("good-name").build());
+        when(objectMapper.writeValueAsString(good)).thenReturn("{}");
+        when(objectMapper.writeValueAsString(bad)).thenThrow(new JsonProcessingException("Serialization error") {
+        });
+
+        auditService.postMessagesToArtemis(List.of(good, bad));
+
+        verify(auditClient).postMessagesToArtemis(List.of(AuditMessage.text("good-name", "{}")));
+    }
+
+    @Test
+    void dropsPayloadWithoutMetadataFromBatch() throws JsonProcessingException {
+        final AuditPayload good = mock(AuditPayload.class);
+        final AuditPayload anonymous = mock(AuditPayload.class);
+        when(good._metadata()).thenReturn(AuditMetadata.builder().id(randomUUID()).name("good-name").build());
+        when(objectMapper.writeValueAsString(good)).thenReturn("{}");
+        when(objectMapper.writeValueAsString(anonymous)).thenReturn("{}");
+
+        auditService.postMessagesToArtemis(List.of(anonymous, good));
+
+        verify(auditClient).postMessagesToArtemis(List.of(AuditMessage.text("good-name", "{}")));
+    }
+
+    @Test
+    void streamsPayloadIntoBytesMessageWhenBytesFormatConfigured() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().setMessageFormat(AuditProperties.MessageFormat.BYTES);
+        final AuditService bytesAuditService = new AuditService(new ObjectMapper(), auditClient, properties);
+        final AuditPayload auditPayload = AuditPayload.builder()
+                .origin("origin")
+                ._metadata(AuditMetadata.builder().id(randomUUID()).name("dummy-name").build())
+                .build();
+
+        bytesAuditService.postMessageToArtemis(auditPayload);
+
+        verify(auditClient).postMessageToArtemis(eq("dummy-name"), bytesCaptor.capture(), lengthCaptor.capture());
+        final String sent = new String(bytesCaptor.getValue(), 0, lengthCaptor.getValue(), StandardCharsets.UTF_8);
+        assertThat(sent).startsWith("{").endsWith("}").contains("\"origin\":\"origin\"");
+    }
+
+    @Test
+    void compressesPayloadAtOrOverThreshold() throws IOException {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().getCompression().setEnabled(true);
+        properties.getJms().getCompression().setThreshold(16);
+        final AuditService compressingAuditService = new AuditService(new ObjectMapper(), auditClient, properties);
+
+        compressingAuditService.postMessageToArtemis(payload("origin-long-enough-to-compress"));
+
+        verify(auditClient).postMessageToArtemis(eq("dummy-name"), bytesCaptor.capture(), lengthCaptor.capture(), eq("gzip"));
+        final byte[] decoded = DeflaterPayloadCodec.gzip(-1).decode(bytesCaptor.getValue(), 0, lengthCaptor.getValue());
+        assertThat(new String(decoded, StandardCharsets.UTF_8)).contains("\"origin\":\"origin-long-enough-to-compress\"");
+    }
+
+    @Test
+    void sendsTextMessageUnderThreshold() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().getCompression().setEnabled(true);
+        final AuditService compressingAuditService = new AuditService(new ObjectMapper(), auditClient, properties);
+
+        compressingAuditService.postMessageToArtemis(payload("origin"));
+
+        verify(auditClient).postMessageToArtemis(eq("dummy-name"), anyString());
+        verify(auditClient, never()).postMessageToArtemis(anyString(), bytesCaptor.capture(), lengthCaptor.capture(), anyString());
+    }
+
+    @Test
+    void journalsMessageInsteadOfFailingWhenBrokerFails(@TempDir final Path journalDirectory) {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(journalDirectory);
+        properties.getJournal().setReplayRate(0);
+        final AuditSpillJournal spillJournal = new AuditSpillJournal(auditClient, properties);
+        spillJournal.start();
+        final AuditService journallingAuditService = new AuditService(new ObjectMapper(), auditClient, properties,
+                DeflaterPayloadCodec.gzip(-1), spillJournal, AuditMetrics.NOOP);
+        doThrow(new UncategorizedJmsException("broker down")).when(auditClient).postMessageToArtemis(eq("dummy-name"), anyString());
+
+        journallingAuditService.postMessageToArtemis(payload("origin"));
+        journallingAuditService.postMessageToArtemis(payload("origin"));
+
+        // The second message skips the broker, which is backing off after the failure
+        verify(auditClient).postMessageToArtemis(eq("dummy-name"), anyString());
+        assertThat(spillJournal.getPendingCount()).isEqualTo(2);
+        spillJournal.stop();
+    }
+
+    @Test
+    void dropsMessageWithoutFailingWhenCircuitBreakerIsOpen() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getJms().getCircuitBreaker().setEnabled(true);
+        properties.getJms().getCircuitBreaker().setFallback(AuditProperties.Fallback.DROP);
+        final AuditService breakerAuditService = new AuditService(new ObjectMapper(), auditClient, properties);
+        doThrow(new AuditCircuitOpenException("open")).when(auditClient).postMessageToArtemis(eq("dummy-name"), anyString());
+
+        breakerAuditService.postMessageToArtemis(payload("origin"));
+
+        assertThat(breakerAuditService.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void propagatesBrokerFailureWhenCircuitBreakerIsDisabled() {
+        final AuditService plainAuditService = new AuditService(new ObjectMapper(), auditClient, new AuditProperties());
+        doThrow(new UncategorizedJmsException("broker down")).when(auditClient).postMessageToArtemis(eq("dummy-name"), anyString());
+
+        assertThatThrownBy(() -> plainAuditService.postMessageToArtemis(payload("origin")))
+                .isInstanceOf(UncategorizedJmsException.class);
+    }
+
+    @Test
+    void recordsMessageSizeInEncodedBytes() throws JsonProcessingException {
+        final AuditMetrics metrics = mock(AuditMetrics.class);
+        when(metrics.isEnabled()).thenReturn(true);
+        final AuditProperties properties = new AuditProperties();
+        final AuditService measuredAuditService = new AuditService(new ObjectMapper(), auditClient, properties,
+                DeflaterPayloadCodec.gzip(-1), new AuditSpillJournal(auditClient, properties), metrics);
+        final AuditPayload payload = payload("caf\u00e9 \u20ac \ud83d\ude00");
+
+        measuredAuditService.postMessageToArtemis(payload);
+        measuredAuditService.postMessagesToArtemis(List.of(payload));
+
+        final int bytes = new ObjectMapper().writeValueAsString(payload).getBytes(StandardCharsets.UTF_8).length;
+        verify(metrics, times(2)).recordSerialization(anyLong(), eq(bytes), isNull());
+    }
+
+    @Test
+    void countsUtf8LengthOfText() {
+        assertThat(AuditService.utf8Length("")).isZero();
+        assertThat(AuditService.utf8Length("abc")).isEqualTo(3);
+        assertThat(AuditService.utf8Length("caf\u00e9")).isEqualTo(5);
+        assertThat(AuditService.utf8Length("\u20ac")).isEqualTo(3);
+        assertThat(AuditService.utf8Length("\ud83d\ude00")).isEqualTo(4);
+    }
+
+    private static AuditPayload payload(final String origin) {
+        return AuditPayload.builder()
+                .origin(origin)
+                ._metadata(AuditMetadata.builder().id(randomUUID()).name("dummy-name").build())
+                .build();
+    }
 }
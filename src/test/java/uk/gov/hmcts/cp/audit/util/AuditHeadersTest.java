@@ -0,0 +1,110 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class AuditHeadersTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    @DisplayName("Resolves the well-known headers once without copying the request headers")
+    void resolvesWellKnownHeadersFromRequest() {
+        when(request.getHeader(AuditHeaders.USER_ID)).thenReturn("user-1");
+        when(request.getHeader(AuditHeaders.CLIENT_CORRELATION_ID)).thenReturn(null);
+
+        final AuditHeaders headers = AuditHeaders.of(request);
+
+        assertThat(headers.getUserId()).isEqualTo("user-1");
+        assertThat(headers.getUserId()).isEqualTo("user-1");
+        assertThat(headers.getClientCorrelationId()).isNull();
+        assertThat(headers.getClientCorrelationId()).isNull();
+        verify(request, times(1)).getHeader(AuditHeaders.USER_ID);
+        verify(request, times(1)).getHeader(AuditHeaders.CLIENT_CORRELATION_ID);
+        verify(request, never()).getHeader(AuditHeaders.ACCEPT);
+        verify(request, never()).getHeaderNames();
+    }
+
+    @Test
+    @DisplayName("Materializes the full header map only when it is iterated")
+    void materializesOnIteration() {
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of("h1", "h2")));
+        when(request.getHeader("h1")).thenReturn("v1");
+        when(request.getHeader("h2")).thenReturn("v2");
+
+        final AuditHeaders headers = AuditHeaders.of(request);
+
+        assertThat(headers.isEmpty()).isFalse();
+        assertThat(headers).containsExactlyInAnyOrderEntriesOf(Map.of("h1", "v1", "h2", "v2"));
+        assertThat(headers).hasSize(2);
+        verify(request, times(1)).getHeaderNames();
+    }
+
+    @Test
+    @DisplayName("Looks up request headers case-insensitively before the map is materialized")
+    void looksUpRequestHeadersCaseInsensitively() {
+        when(request.getHeader("Accept")).thenReturn("application/json");
+        when(request.getHeader("X-Missing")).thenReturn(null);
+
+        final AuditHeaders headers = AuditHeaders.of(request);
+
+        assertThat(headers.get("Accept")).isEqualTo("application/json");
+        assertThat(headers.containsKey("Accept")).isTrue();
+        assertThat(headers.containsKey("X-Missing")).isFalse();
+        assertThat(headers.get(42)).isNull();
+        verify(request, never()).getHeaderNames();
+    }
+
+    @Test
+    @DisplayName("Looks up request headers case-insensitively after the map is materialized")
+    void looksUpMaterializedHeadersCaseInsensitively() {
+        when(request.getHeaderNames()).thenReturn(Collections.enumeration(List.of("accept", "X-Trace")));
+        when(request.getHeader("accept")).thenReturn("application/json");
+        when(request.getHeader("X-Trace")).thenReturn("t-1");
+
+        final AuditHeaders headers = AuditHeaders.of(request);
+
+        assertThat(headers).hasSize(2);
+        assertThat(headers.get("Accept")).isEqualTo("application/json");
+        assertThat(headers.get("x-trace")).isEqualTo("t-1");
+        assertThat(headers.containsKey("ACCEPT")).isTrue();
+        assertThat(headers.containsKey("Content-Type")).isFalse();
+        assertThat(headers.get(null)).isNull();
+        verify(request, never()).getHeader("Accept");
+    }
+
+    @Test
+    @DisplayName("Matches the well-known headers of a plain map by trimmed, case-insensitive name")
+    void matchesPlainMapCaseInsensitively() {
+        final Map<String, String> map = new LinkedHashMap<>();
+        map.put(" content-type ", "application/json");
+        map.put("cjscppuid", "user-1");
+        map.put("CJSCPPUID", "user-2");
+
+        final AuditHeaders headers = AuditHeaders.from(map);
+
+        assertThat(headers.getAccept()).isNull();
+        assertThat(headers.getContentType()).isEqualTo("application/json");
+        assertThat(headers.getUserId()).isEqualTo("user-1");
+        assertThat(AuditHeaders.from(headers)).isSameAs(headers);
+        assertThat(AuditHeaders.from(null)).isEmpty();
+    }
+}
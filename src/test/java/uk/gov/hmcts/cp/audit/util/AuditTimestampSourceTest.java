@@ -0,0 +1,47 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.of;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class AuditTimestampSourceTest {
+
+    private static Stream<Arguments> instants() {
+        return Stream.of(
+                of("2025-03-01T10:00:00Z"),
+                of("2025-03-01T10:00:01Z"),
+                of("2025-03-01T10:00:01.120Z"),
+                of("2025-03-01T10:00:01.123456789Z")
+        );
+    }
+
+    @ParameterizedTest(name = "Formats {0} as ZonedDateTime does")
+    @MethodSource("instants")
+    @DisplayName("Formats timestamps exactly as the truncated ZonedDateTime did")
+    void formatsAsZonedDateTime(final String instant) {
+        final Clock clock = Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+
+        assertThat(new AuditTimestampSource(clock).currentTimestamp())
+                .isEqualTo(ZonedDateTime.now(clock).truncatedTo(ChronoUnit.MILLIS).toString());
+    }
+
+    @Test
+    @DisplayName("Reuses the formatted value within the same millisecond")
+    void reusesValueWithinMillisecond() {
+        final AuditTimestampSource source = new AuditTimestampSource(Clock.fixed(Instant.parse("2025-03-01T10:00:01.120Z"), ZoneOffset.UTC));
+
+        assertThat(source.currentTimestamp()).isSameAs(source.currentTimestamp());
+    }
+}
@@ -0,0 +1,67 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+
+class CaptureBufferPoolTest {
+
+    @Test
+    @DisplayName("Released buffers are handed out again instead of being allocated")
+    void reusesReleasedBuffers() {
+        final CaptureBufferPool pool = new CaptureBufferPool(new AuditProperties());
+
+        final ByteBuffer first = pool.lease(100);
+        first.put((byte) 1);
+        pool.release(first);
+        final ByteBuffer second = pool.lease(100);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.position()).isZero();
+        assertThat(pool.getAllocatedCount()).isEqualTo(1);
+        assertThat(pool.getReusedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The largest size class covers the largest capture limit of the policy")
+    void sizesLargestClassFromCaptureLimits() {
+        final AuditProperties properties = new AuditProperties();
+        final AuditProperties.Rule rule = new AuditProperties.Rule();
+        rule.setPath("/documents/**");
+        rule.setCaptureLimit(1_048_576);
+        properties.getPolicy().getRules().add(rule);
+
+        final CaptureBufferPool pool = new CaptureBufferPool(properties);
+        final ByteBuffer buffer = pool.lease(1_048_576);
+        pool.release(buffer);
+
+        assertThat(pool.getMaxBufferSize()).isEqualTo(1_048_576);
+        assertThat(pool.getPooledCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Leases are rounded up to a size class and oversized buffers are not pooled")
+    void roundsUpToSizeClasses() {
+        final CaptureBufferPool pool = new CaptureBufferPool(new AuditProperties());
+
+        assertThat(pool.lease(5_000).capacity()).isEqualTo(16 * 1024);
+        assertThat(pool.lease(20_000).capacity()).isEqualTo(64 * 1024);
+
+        final ByteBuffer oversized = pool.lease(pool.getMaxBufferSize() + 1);
+        pool.release(oversized);
+        assertThat(pool.getPooledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Direct buffers are leased when configured")
+    void leasesDirectBuffers() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getCapture().getBuffers().setDirect(true);
+
+        assertThat(new CaptureBufferPool(properties).lease(10).isDirect()).isTrue();
+    }
+}
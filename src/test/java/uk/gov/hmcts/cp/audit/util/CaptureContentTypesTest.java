@@ -0,0 +1,47 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaptureContentTypesTest {
+
+    static Stream<Arguments> contentTypes() {
+        return Stream.of(
+                Arguments.of("application/json", true),
+                Arguments.of("application/json;charset=UTF-8", true),
+                Arguments.of("application/vnd.case+json", true),
+                Arguments.of("text/plain", true),
+                Arguments.of("application/x-www-form-urlencoded", true),
+                Arguments.of(null, true),
+                Arguments.of("not a media type", true),
+                Arguments.of("application/pdf", false),
+                Arguments.of("image/png", false),
+                Arguments.of("application/octet-stream", false),
+                Arguments.of("multipart/form-data; boundary=----x", false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("contentTypes")
+    void capturesTextualContentTypesOnly(final String contentType, final boolean captured) {
+        final AuditProperties properties = new AuditProperties();
+        properties.getCapture().setContentAware(true);
+
+        assertThat(new CaptureContentTypes(properties).isCaptured(contentType)).isEqualTo(captured);
+    }
+
+    @Test
+    void capturesEverythingWhenNotContentAware() {
+        final CaptureContentTypes captureContentTypes = new CaptureContentTypes(new AuditProperties());
+
+        assertThat(captureContentTypes.isCaptured("application/pdf")).isTrue();
+        assertThat(captureContentTypes.isCaptured("multipart/form-data; boundary=----x")).isTrue();
+    }
+}
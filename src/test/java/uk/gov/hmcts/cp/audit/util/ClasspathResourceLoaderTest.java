@@ -1,7 +1,10 @@
 package uk.gov.hmcts.cp.audit.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -9,13 +12,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import uk.gov.hmcts.cp.audit.config.AuditProperties;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = ClasspathResourceLoaderTest.TestConfig.class)
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 class ClasspathResourceLoaderTest {
 
     // Inject the component we are testing
@@ -67,6 +73,26 @@ class ClasspathResourceLoaderTest {
         assertTrue(result.isEmpty(), "Result should be empty when no resource matches the pattern.");
     }
 
+    @Test
+    void shouldOnlySearchConfiguredLocations() {
+        final AuditProperties properties = new AuditProperties();
+        properties.getResources().setLocations(List.of("classpath*:nested/"));
+        final ClasspathResourceLoader nestedLoader = new ClasspathResourceLoader(new DefaultResourceLoader(), properties);
+
+        final List<Resource> result = nestedLoader.loadAllFilesByPattern(".txt");
+
+        assertEquals(1, result.size(), "Only resources under the configured location should be found.");
+        assertTrue("nested-test-resource.txt".equalsIgnoreCase(result.get(0).getFilename()), "The found resource should be the expected file.");
+    }
+
+    @Test
+    void shouldMemoizeResultsPerPattern() {
+        final List<Resource> first = resourceLoader.loadAllFilesByPattern("-res.txt");
+        final List<Resource> second = resourceLoader.loadAllFilesByPattern("-res.txt");
+
+        assertSame(first, second, "Repeated lookups should not rescan the class path.");
+    }
+
     @Configuration
     @SuppressWarnings("PMD.TestClassWithoutTestCases")
     public static class TestConfig {
@@ -0,0 +1,59 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeflaterPayloadCodecTest {
+
+    private static final String JSON = "{\"caseId\":\"123\",\"hearings\":[" + "{\"court\":\"Leeds\",\"listed\":true},".repeat(200) + "{}]}";
+
+    static Stream<Arguments> codecs() {
+        return Stream.of(
+                Arguments.of(DeflaterPayloadCodec.gzip(-1), "gzip"),
+                Arguments.of(DeflaterPayloadCodec.deflate(9), "deflate")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void encodesInStandardFormatReadableByJdkStreams(final DeflaterPayloadCodec codec, final String contentEncoding) throws IOException {
+        final byte[] encoded = encode(codec, JSON);
+
+        final ByteArrayInputStream encodedStream = new ByteArrayInputStream(encoded);
+        try (InputStream in = "gzip".equals(contentEncoding) ? new GZIPInputStream(encodedStream) : new InflaterInputStream(encodedStream)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(JSON);
+        }
+        assertThat(codec.contentEncoding()).isEqualTo(contentEncoding);
+        assertThat(encoded.length).isLessThan(JSON.length() / 5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void reusesDeflaterAcrossMessages(final DeflaterPayloadCodec codec) throws IOException {
+        final byte[] first = encode(codec, JSON);
+        final byte[] second = encode(codec, "{\"other\":\"message\"}");
+        final byte[] third = encode(codec, JSON);
+
+        assertThat(third).isEqualTo(first);
+        assertThat(new String(codec.decode(second, 0, second.length), StandardCharsets.UTF_8)).isEqualTo("{\"other\":\"message\"}");
+    }
+
+    private static byte[] encode(final AuditPayloadCodec codec, final String json) throws IOException {
+        try (ReusableByteArrayOutputStream out = new ReusableByteArrayOutputStream(1024, 1024 * 1024)) {
+            final byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            codec.encode(body, 0, body.length, out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.of;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class JsonTokenScannerTest {
+
+    private static Stream<Arguments> scanCases() {
+        return Stream.of(
+                of("{}", JsonTokenScanner.Shape.OBJECT),
+                of(" {\"a\":[1,2.5e-3,{\"b\":null}],\"c\":\"\\u00e9\\n\"} ", JsonTokenScanner.Shape.OBJECT),
+                of("[1, true, false, \"x\"]", JsonTokenScanner.Shape.ARRAY),
+                of("\"caf\u00e9\"", JsonTokenScanner.Shape.SCALAR),
+                of("-0.5", JsonTokenScanner.Shape.SCALAR),
+                of("", JsonTokenScanner.Shape.EMPTY),
+                of(" \n ", JsonTokenScanner.Shape.EMPTY),
+                of("json body", JsonTokenScanner.Shape.INVALID),
+                of("{\"a\":}", JsonTokenScanner.Shape.INVALID),
+                of("{\"a\":1} trailing", JsonTokenScanner.Shape.INVALID),
+                of("[1,]", JsonTokenScanner.Shape.INVALID),
+                of("01", JsonTokenScanner.Shape.INVALID),
+                of("\"unterminated", JsonTokenScanner.Shape.INVALID)
+        );
+    }
+
+    @ParameterizedTest(name = "Scans \"{0}\" as {1}")
+    @MethodSource("scanCases")
+    @DisplayName("Classifies JSON bodies without parsing them")
+    void classifiesJsonBodies(final String json, final JsonTokenScanner.Shape expected) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThat(JsonTokenScanner.scan(bytes, 0, bytes.length)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest(name = "Finds a top-level id or _metadata member in \"{0}\": {1}")
+    @MethodSource("memberCases")
+    void findsTopLevelMembersByName(final String json, final boolean expected) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThat(JsonTokenScanner.hasMember(bytes, 0, bytes.length, List.of("id", "_metadata"))).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> memberCases() {
+        return Stream.of(
+                of("{\"name\":{\"id\":1},\"id\":2}", true),
+                of(" { \"_metadata\" : {} } ", true),
+                of("{\"name\":{\"id\":1},\"ids\":[\"id\"]}", false),
+                of("{\"\\u0069d\":1}", true),
+                of("{}", false),
+                of("[{\"id\":1}]", false)
+        );
+    }
+}
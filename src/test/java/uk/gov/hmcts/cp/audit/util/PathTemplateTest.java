@@ -0,0 +1,61 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.of;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+class PathTemplateTest {
+
+    private static Stream<Arguments> extractionCases() {
+        return Stream.of(
+                of("/users/{userId}/orders/{orderId}", "/users/123/orders/456", Map.of("userId", "123", "orderId", "456")),
+                of("/users/{userId}/profile", "/users/a.b/profile", Map.of("userId", "a.b")),
+                of("/users/{userId}/profile", "/users/123/orders", Map.of()),
+                of("/users.v1/{userId}", "/usersXv1/123", Map.of()),
+                of("/users/orders", "/users/orders", Map.of()),
+                of("/cases/{case-id}", "/cases/123", Map.of("case-id", "123")),
+                of("/files/{file}.json", "/files/a.json", Map.of())
+        );
+    }
+
+    @ParameterizedTest(name = "Extracts \"{1}\" against \"{0}\"")
+    @MethodSource("extractionCases")
+    @DisplayName("Extracts parameter values in one match against the compiled template")
+    void extractsParameterValues(final String template, final String path, final Map<String, String> expected) {
+        assertThat(PathTemplate.compile(template).extract(path)).containsExactlyInAnyOrderEntriesOf(expected);
+    }
+
+    @Test
+    @DisplayName("Compiles parameters into ordered names and named groups")
+    void compilesNamedGroups() {
+        final PathTemplate template = PathTemplate.compile("/users/{userId}/orders/{orderId}");
+
+        assertThat(template.getParameterNames()).containsExactly("userId", "orderId");
+        assertThat(template.getPattern().pattern()).contains("(?<p0>[^/]+)", "(?<p1>[^/]+)");
+    }
+
+    @Test
+    @DisplayName("Lists parameter names of whole segments without compiling")
+    void listsParameterNames() {
+        assertThat(PathTemplate.parameterNamesOf("/cases/{case-id}/files/{file}.json/{version}")).containsExactly("case-id", "version");
+        assertThat(PathTemplate.segments("//cases/{id}/")).containsExactly("cases", "{id}");
+    }
+
+    @Test
+    @DisplayName("Extracts positional groups of a ready-made regex")
+    void extractsFromRegex() {
+        final PathTemplate template = PathTemplate.ofRegex("/users/(\\d+)/orders/(\\d+)", List.of("userId", "orderId"));
+
+        assertThat(template.extract("/users/123/orders/456")).containsExactlyInAnyOrderEntriesOf(Map.of("userId", "123", "orderId", "456"));
+    }
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.cp.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    @DisplayName("Generates version 7 ids carrying the creation millisecond")
+    void generatesVersion7Ids() {
+        final Clock clock = Clock.fixed(Instant.parse("2025-03-01T10:00:00.123Z"), ZoneOffset.UTC);
+
+        final UUID id = new TimeOrderedIdGenerator(clock).nextId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(clock.millis());
+    }
+
+    @Test
+    @DisplayName("Ids from later milliseconds sort after earlier ones")
+    void sortsByCreationTime() {
+        final UUID earlier = new TimeOrderedIdGenerator(Clock.fixed(Instant.parse("2025-03-01T10:00:00.123Z"), ZoneOffset.UTC)).nextId();
+        final UUID later = new TimeOrderedIdGenerator(Clock.fixed(Instant.parse("2025-03-01T10:00:00.124Z"), ZoneOffset.UTC)).nextId();
+
+        assertThat(later.toString()).isGreaterThan(earlier.toString());
+    }
+}